@@ -9,6 +9,7 @@ plugins {
     alias(libs.plugins.changelog) // Gradle Changelog Plugin
     alias(libs.plugins.qodana) // Gradle Qodana Plugin
     alias(libs.plugins.kover) // Gradle Kover Plugin
+    alias(libs.plugins.jmh) // JMH Gradle Plugin
 }
 
 group = providers.gradleProperty("pluginGroup").get()
@@ -139,6 +140,19 @@ kover {
     }
 }
 
+// Configure JMH Gradle Plugin - read more: https://github.com/melix/jmh-gradle-plugin
+jmh {
+    jmhVersion = libs.versions.jmhCore
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    includeTests = true // for the generated Ivy repository fixture
+}
+
+// Some benchmarks use IntelliJ Platform utility classes, which are only on the compile classpath of the plugin
+configurations.named("jmhRuntimeClasspath") {
+    extendsFrom(configurations["intellijPlatformClasspath"])
+}
+
 tasks {
     wrapper {
         gradleVersion = providers.gradleProperty("gradleVersion").get()
@@ -147,6 +161,22 @@ tasks {
     publishPlugin {
         dependsOn(patchChangelog)
     }
+
+    test {
+        // Pass -Pivyidea.benchmark=true (and its settings) to run the resolve benchmark, see ResolveBenchmark
+        providers.gradlePropertiesPrefixedBy("ivyidea.benchmark").get().forEach { (name, value) -> systemProperty(name, value) }
+    }
+
+    // Runs the benchmarks and keeps their results in the benchmarks directory, so the results of releases can be compared
+    register<Copy>("archiveJmhResults") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks and copies their results to benchmarks/jmh-<version>.json"
+        val pluginVersion = providers.gradleProperty("pluginVersion").get()
+        dependsOn(named("jmh"))
+        from(layout.buildDirectory.file("results/jmh/results.json"))
+        into(layout.projectDirectory.dir("benchmarks"))
+        rename { "jmh-$pluginVersion.json" }
+    }
 }
 
 intellijPlatformTesting {
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.config.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures determining the category of the artifacts of a resolve with the default artifact types,
+ * which is done for every resolved artifact and for every artifact that might be attached.
+ * The types are a mix of known types in various cases and unknown types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArtifactTypeSettingsBenchmark {
+
+    private static final String[] TYPES = {"jar", "JAR", "source", "sources ", "javadoc", "Doc", "bundle", "zip", "pom", "test-jar"};
+
+    @Param({"10", "1000", "10000"})
+    private int artifactCount;
+
+    private ArtifactTypeSettings artifactTypeSettings;
+    private String[] types;
+
+    @Setup
+    public void setUp() {
+        artifactTypeSettings = new ArtifactTypeSettings();
+        final Random random = new Random(42);
+        types = new String[artifactCount];
+        for (int i = 0; i < artifactCount; i++) {
+            types[i] = TYPES[random.nextInt(TYPES.length)];
+        }
+    }
+
+    @Benchmark
+    public int getCategoryForType() {
+        int categorized = 0;
+        for (String type : types) {
+            if (artifactTypeSettings.getCategoryForType(type) != null) {
+                categorized++;
+            }
+        }
+        return categorized;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures comparing the resolved roots of a library with the roots it already has, as done for
+ * every IvyIDEA library when the model of a module is updated. One in ten roots differs, like
+ * after upgrading some of the dependencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleChangesBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int artifactCount;
+
+    private Map<String, String> wantedRoots;
+    private String[] existingUrls;
+
+    @Setup
+    public void setUp() {
+        wantedRoots = new LinkedHashMap<>();
+        existingUrls = new String[artifactCount];
+        for (int i = 0; i < artifactCount; i++) {
+            final String path = "/home/user/.ivy2/cache/org.example/lib" + i + "/jars/lib" + i + "-2.0.jar";
+            wantedRoots.put(LibraryModels.getRootKey(path), "jar://" + path + "!/");
+            final String existingPath = i % 10 == 0 ? path.replace("-2.0", "-1.0") : path;
+            existingUrls[i] = "jar://" + existingPath + "!/";
+        }
+    }
+
+    @Benchmark
+    public int diffRoots() {
+        final List<String> urlsToAdd = new ArrayList<>();
+        final List<String> urlsToRemove = new ArrayList<>();
+        ModuleChanges.diffRoots(wantedRoots, existingUrls, urlsToAdd, urlsToRemove);
+        return urlsToAdd.size() + urlsToRemove.size();
+    }
+}
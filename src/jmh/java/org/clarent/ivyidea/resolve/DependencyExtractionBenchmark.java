@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import org.apache.ivy.Ivy;
+import org.apache.ivy.core.report.ResolveReport;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.config.model.IvyIdeaProjectSettings;
+import org.clarent.ivyidea.fixture.LocalIvyRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DependencyResolver#extractDependencies} without the lookup of other modules:
+ * grouping the resolved revisions by configuration, creating the dependencies of the download
+ * reports and determining the sources and javadoc to attach to every revision. The downloads of
+ * these are not started; they complete immediately without a report.
+ * <p>
+ * The resolve report comes from a repository generated by {@link LocalIvyRepository}, with ten
+ * jars per library, and is created once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DependencyExtractionBenchmark {
+
+    private static final int JARS_PER_LIBRARY = 10;
+
+    @Param({"10", "1000", "10000"})
+    private int artifactCount;
+
+    private Path dir;
+    private Ivy ivy;
+    private ResolveReport resolveReport;
+    private ResolveSettings settings;
+
+    @Setup
+    public void setUp() throws IOException, ParseException {
+        dir = Files.createTempDirectory("ivyidea-jmh");
+        final LocalIvyRepository repository = LocalIvyRepository.generate(dir, Math.max(1, artifactCount / JARS_PER_LIBRARY), JARS_PER_LIBRARY, 16);
+        ivy = repository.createIvy();
+        resolveReport = repository.resolve(ivy, repository.getModuleIvyFiles().get(0));
+
+        final IvyIdeaProjectSettings projectSettings = new IvyIdeaProjectSettings();
+        projectSettings.setAlwaysAttachSources(true);
+        projectSettings.setAlwaysAttachJavadocs(true);
+        settings = new ResolveSettings(projectSettings);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        LocalIvyRepository.delete(dir);
+    }
+
+    @Benchmark
+    public int extract() {
+        final DependencyResolver.Extraction extraction = DependencyResolver.extractDependencies(ivy, resolveReport, settings, null,
+                artifact -> CompletableFuture.completedFuture(null));
+        return extraction.getDependencies().size() + extraction.getPendingDownloadCount();
+    }
+}
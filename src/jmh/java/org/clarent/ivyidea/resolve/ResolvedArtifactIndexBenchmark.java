@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.module.descriptor.DefaultArtifact;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares checking the descriptor artifacts of every dependency against the list returned by
+ * {@code ResolveReport.getArtifacts()} with checking them against a {@link ResolvedArtifactIndex},
+ * including the time needed to build the index.
+ * <p>
+ * The synthetic report has one jar per module; the artifacts that are checked are the jar,
+ * the sources and the javadoc of each module, like the descriptor artifacts of a dependency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolvedArtifactIndexBenchmark {
+
+    @Param({"5000"})
+    private int artifactCount;
+
+    private List<Artifact> artifacts;
+    private List<Artifact> descriptorArtifacts;
+
+    @Setup
+    public void setUp() {
+        final Date publicationDate = new Date();
+        artifacts = new ArrayList<>(artifactCount);
+        descriptorArtifacts = new ArrayList<>(artifactCount * 3);
+        for (int i = 0; i < artifactCount; i++) {
+            final ModuleRevisionId mrid = ModuleRevisionId.newInstance("org.example", "module" + i, "1.0");
+            artifacts.add(new DefaultArtifact(mrid, publicationDate, "module" + i, "jar", "jar"));
+            descriptorArtifacts.add(new DefaultArtifact(mrid, publicationDate, "module" + i, "jar", "jar"));
+            descriptorArtifacts.add(new DefaultArtifact(mrid, publicationDate, "module" + i, "source", "jar"));
+            descriptorArtifacts.add(new DefaultArtifact(mrid, publicationDate, "module" + i, "javadoc", "jar"));
+        }
+    }
+
+    @Benchmark
+    public int listContains() {
+        int resolved = 0;
+        for (Artifact artifact : descriptorArtifacts) {
+            if (artifacts.contains(artifact)) {
+                resolved++;
+            }
+        }
+        return resolved;
+    }
+
+    @Benchmark
+    public int index() {
+        final ResolvedArtifactIndex index = new ResolvedArtifactIndex(artifacts);
+        int resolved = 0;
+        for (Artifact artifact : descriptorArtifacts) {
+            if (index.contains(artifact)) {
+                resolved++;
+            }
+        }
+        return resolved;
+    }
+}
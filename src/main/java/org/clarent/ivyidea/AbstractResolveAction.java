@@ -16,67 +16,38 @@
 
 package org.clarent.ivyidea;
 
-import com.intellij.execution.ui.ConsoleView;
-import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.openapi.actionSystem.AnAction;
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
-import org.clarent.ivyidea.intellij.IntellijUtils;
-import org.clarent.ivyidea.intellij.facet.config.IvyIdeaFacetConfiguration;
-import org.clarent.ivyidea.intellij.model.IntellijModuleWrapper;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.intellij.ResolveResultHandler;
+import org.clarent.ivyidea.resolve.ResolveStatistics;
 import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
 import org.clarent.ivyidea.resolve.problem.ResolveProblem;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * @author Guy Mahieu
  */
 public abstract class AbstractResolveAction extends AnAction {
 
-    protected void updateIntellijModel(final Module module, final List<ResolvedDependency> dependencies) {
-        ApplicationManager.getApplication().invokeLater(() -> ApplicationManager.getApplication().runWriteAction(() -> {
-            try (IntellijModuleWrapper moduleWrapper = IntellijModuleWrapper.forModule(module)) {
-                moduleWrapper.updateDependencies(dependencies);
-            }
-        }));
+    protected void updateIntellijModel(final Module module, final List<ResolvedDependency> dependencies,
+                                       final ResolveSettings settings, final ResolveStatistics statistics) {
+        ResolveResultHandler.updateIntellijModel(module, dependencies, settings, statistics);
+    }
+
+    protected void updateIntellijModel(final Project project, final Map<Module, List<ResolvedDependency>> dependenciesByModule,
+                                       final ResolveSettings settings, final ResolveStatistics statistics) {
+        ResolveResultHandler.updateIntellijModel(project, dependenciesByModule, settings, statistics);
     }
 
     protected void clearConsole(final Project project) {
-        ApplicationManager.getApplication().invokeLater(() -> IntellijUtils.getConsoleView(project).clear());
+        ResolveResultHandler.clearConsole(project);
     }
 
     protected void reportProblems(final Module module, final List<ResolveProblem> problems) {
-        ApplicationManager.getApplication().invokeLater(() -> {
-            final IvyIdeaFacetConfiguration ivyIdeaFacetConfiguration = IvyIdeaFacetConfiguration.getInstance(module);
-            if (ivyIdeaFacetConfiguration == null) {
-                throw new RuntimeException("Internal error: module " + module.getName() + " does not seem to be have an IvyIDEA facet, but was included in the resolve process anyway.");
-            }
-            final ConsoleView consoleView = IntellijUtils.getConsoleView(module.getProject());
-            String configsForModule;
-            if (ivyIdeaFacetConfiguration.isOnlyResolveSelectedConfigs()) {
-                final Set<String> configs = ivyIdeaFacetConfiguration.getConfigsToResolve();
-                if (configs == null || configs.size() == 0) {
-                    configsForModule = "[No configurations selected!]";
-                } else {
-                    configsForModule = configs.toString();
-                }
-            } else {
-                configsForModule = "[All configurations]";
-            }
-            if (problems.isEmpty()) {
-                consoleView.print("No problems detected during resolve for module '" + module.getName() + "' " + configsForModule + ".\n", ConsoleViewContentType.NORMAL_OUTPUT);
-            } else {
-                consoleView.print("Problems for module '" + module.getName() + " " + configsForModule + "':" + '\n', ConsoleViewContentType.NORMAL_OUTPUT);
-                for (ResolveProblem resolveProblem : problems) {
-                    consoleView.print("\t" + resolveProblem.toString() + '\n', ConsoleViewContentType.ERROR_OUTPUT);
-                }
-                // Make sure the tool window becomes visible if there were problems
-                IntellijUtils.getToolWindow(module.getProject()).show(null);
-            }
-        });
+        ResolveResultHandler.reportProblems(module, problems);
     }
 }
-
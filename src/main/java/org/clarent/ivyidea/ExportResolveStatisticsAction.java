@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.clarent.ivyidea.intellij.IvyIdeaConsoleService;
+import org.clarent.ivyidea.resolve.ResolveStatistics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Action to save the statistics of the last resolve as a JSON file.
+ */
+public class ExportResolveStatisticsAction extends AnAction {
+
+    private static final String DEFAULT_FILE_NAME = "ivyidea-resolve-statistics.json";
+
+    public void actionPerformed(AnActionEvent e) {
+        final Project project = PlatformDataKeys.PROJECT.getData(e.getDataContext());
+        if (project == null) {
+            return;
+        }
+        final ResolveStatistics statistics = IvyIdeaConsoleService.getInstance(project).getLastResolveStatistics();
+        if (statistics == null) {
+            return;
+        }
+
+        final FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Resolve Statistics", "Save the statistics of the last resolve", "json");
+        final VirtualFileWrapper target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save((VirtualFile) null, DEFAULT_FILE_NAME);
+        if (target == null) {
+            return;
+        }
+        try {
+            Files.write(target.getFile().toPath(), statistics.toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            Messages.showErrorDialog(project, "Could not write " + target.getFile().getAbsolutePath() + ": " + ex.getMessage(), "Export Resolve Statistics");
+        }
+    }
+
+    public void update(AnActionEvent e) {
+        final Project project = PlatformDataKeys.PROJECT.getData(e.getDataContext());
+        e.getPresentation().setEnabled(project != null && IvyIdeaConsoleService.getInstance(project).getLastResolveStatistics() != null);
+    }
+}
@@ -23,16 +23,19 @@ import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
 import org.clarent.ivyidea.exception.IvyFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
 import org.clarent.ivyidea.intellij.IntellijUtils;
 import org.clarent.ivyidea.intellij.task.IvyIdeaResolveBackgroundTask;
+import org.clarent.ivyidea.intellij.task.NetworkResolveTask;
 import org.clarent.ivyidea.ivy.IvyManager;
 import org.clarent.ivyidea.resolve.IntellijDependencyResolver;
 import org.jetbrains.annotations.NotNull;
 
 import java.text.MessageFormat;
+import java.util.Collections;
 
 /**
  * Action to resolve the dependencies for the active module.
@@ -52,13 +55,16 @@ public class ResolveForActiveModuleAction extends AbstractResolveAction {
                 public void doResolve(@NotNull ProgressIndicator progressIndicator) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
                     clearConsole(myProject);
 
-                    final IvyManager ivyManager = new IvyManager();
+                    final IvyManager ivyManager = new IvyManager(IvyIdeaConfigHelper.createFirstResolveSettings(myProject));
                     getProgressMonitorThread().setIvy(ivyManager.getIvy(module));
 
                     final IntellijDependencyResolver resolver = new IntellijDependencyResolver(ivyManager);
-                    resolver.resolve(module);
-                    updateIntellijModel(module, resolver.getDependencies());
-                    reportProblems(module, resolver.getProblems());
+                    resolver.resolve(module, progressIndicator);
+                    updateIntellijModel(module, resolver.getDependencies(), ivyManager.getResolveSettings(), ivyManager.getStatistics());
+                    if (!resolver.needsRepositoryResolve()) {
+                        reportProblems(module, resolver.getProblems());
+                    }
+                    NetworkResolveTask.startIfNeeded(myProject, Collections.singletonList(resolver));
                 }
             });
         }
@@ -23,17 +23,23 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
 import org.clarent.ivyidea.exception.IvyFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
 import org.clarent.ivyidea.intellij.IntellijUtils;
 import org.clarent.ivyidea.intellij.task.IvyIdeaResolveBackgroundTask;
+import org.clarent.ivyidea.intellij.task.NetworkResolveTask;
 import org.clarent.ivyidea.ivy.IvyManager;
 import org.clarent.ivyidea.resolve.IntellijDependencyResolver;
+import org.clarent.ivyidea.resolve.MultiModuleResolver;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Action to resolve the dependencies for all modules that have an IvyIDEA facet configured.
@@ -50,26 +56,25 @@ public class ResolveForAllModulesAction extends AbstractResolveAction {
             public void doResolve(final @NotNull ProgressIndicator indicator) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
                 clearConsole(myProject);
 
-                final IvyManager ivyManager = new IvyManager();
-
-                Collection<IntellijDependencyResolver> resolvers = new ArrayList<>();
-                for (final Module module : IntellijUtils.getAllModulesWithIvyIdeaFacet(project)) {
-                    getProgressMonitorThread().setIvy(ivyManager.getIvy(module));
-                    indicator.setText2("Resolving for module " + module.getName());
-                    final IntellijDependencyResolver resolver = new IntellijDependencyResolver(ivyManager);
-                    resolver.resolve(module);
-                    resolvers.add(resolver);
-
-                    if (indicator.isCanceled()) {
-                        return;
-                    }
+                final IvyManager ivyManager = new IvyManager(IvyIdeaConfigHelper.createFirstResolveSettings(project));
+                final MultiModuleResolver multiModuleResolver = new MultiModuleResolver(ivyManager, ivyManager.getResolveSettings().getResolveParallelism());
+                final List<IntellijDependencyResolver> resolvers = multiModuleResolver.resolve(
+                        Arrays.asList(IntellijUtils.getAllModulesWithIvyIdeaFacet(project)), indicator, getProgressMonitorThread());
+                if (indicator.isCanceled()) {
+                    return;
                 }
 
+                final Map<Module, List<ResolvedDependency>> dependenciesByModule = new LinkedHashMap<>();
                 for (IntellijDependencyResolver resolver : resolvers) {
-                    Module module = resolver.getModule();
-                    updateIntellijModel(module, resolver.getDependencies());
-                    reportProblems(module, resolver.getProblems());
+                    dependenciesByModule.put(resolver.getModule(), resolver.getDependencies());
+                }
+                updateIntellijModel(project, dependenciesByModule, ivyManager.getResolveSettings(), ivyManager.getStatistics());
+                for (IntellijDependencyResolver resolver : resolvers) {
+                    if (!resolver.needsRepositoryResolve()) {
+                        reportProblems(resolver.getModule(), resolver.getProblems());
+                    }
                 }
+                NetworkResolveTask.startIfNeeded(project, resolvers);
             }
         });
     }
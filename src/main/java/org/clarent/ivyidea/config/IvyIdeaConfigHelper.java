@@ -18,8 +18,6 @@ package org.clarent.ivyidea.config;
 
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.roots.ModifiableRootModel;
-import com.intellij.util.net.HttpConfigurable;
 import org.apache.ivy.core.resolve.ResolveOptions;
 import org.apache.ivy.core.settings.IvySettings;
 import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
@@ -29,15 +27,16 @@ import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
 import org.clarent.ivyidea.intellij.IvyIdeaProjectService;
 import org.clarent.ivyidea.intellij.facet.config.FacetPropertiesSettings;
 import org.clarent.ivyidea.intellij.facet.config.IvyIdeaFacetConfiguration;
+import org.clarent.ivyidea.ivy.RemoteSettingsCache;
 import org.clarent.ivyidea.logging.IvyLogLevel;
-import org.clarent.ivyidea.util.CollectionUtils;
 import org.clarent.ivyidea.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.text.ParseException;
 import java.util.*;                                                                                    
@@ -52,29 +51,37 @@ import java.util.*;
  */
 public class IvyIdeaConfigHelper {
 
-    private static final String RESOLVED_LIB_NAME_ROOT = "IvyIDEA";
+    static final String RESOLVED_LIB_NAME_ROOT = "IvyIDEA";
 
-    public static String getCreatedLibraryName(final ModifiableRootModel model, final String configName) {
-        final Project project = model.getProject();
-        String libraryName = RESOLVED_LIB_NAME_ROOT;
-        if (isLibraryNameIncludesModule(project)) {
-            final String moduleName = model.getModule().getName();
-            libraryName += "-" + moduleName;
-        }
-        if (isLibraryNameIncludesConfiguration(project)) {
-            libraryName += "-" + configName;
-        }
-        return libraryName;
+    /**
+     * Captures the project settings that apply to a resolve run.
+     */
+    @NotNull
+    public static ResolveSettings createResolveSettings(Project project) {
+        return new ResolveSettings(getProjectConfig(project));
+    }
+
+    /**
+     * Captures the settings for a resolve that is requested by the user or started automatically.
+     * When the project resolves from the ivy cache first, that resolve only uses the ivy cache.
+     */
+    @NotNull
+    public static ResolveSettings createFirstResolveSettings(Project project) {
+        final ResolveSettings settings = createResolveSettings(project);
+        return settings.isResolveFromCacheFirst() ? settings.forCacheOnlyResolve() : settings;
     }
 
     public static boolean isCreatedLibraryName(final String libraryName) {
         return libraryName != null && libraryName.startsWith(RESOLVED_LIB_NAME_ROOT);
     }
 
+    /**
+     * Creates the options to resolve the given module with, using the project settings of the run.
+     */
     @NotNull
-    public static ResolveOptions createResolveOptions(Module module) {
+    public static ResolveOptions createResolveOptions(Module module, ResolveSettings settings) {
         ResolveOptions options = new ResolveOptions();
-        getProjectConfig(module.getProject()).updateResolveOptions(options);
+        settings.updateResolveOptions(options);
         final Set<String> configsToResolve = getConfigurationsToResolve(module);
         if (!configsToResolve.isEmpty()) {
             options.setConfs(configsToResolve.toArray(new String[0]));
@@ -131,10 +138,39 @@ public class IvyIdeaConfigHelper {
         return getProjectConfig(project).isAlwaysAttachJavadocs();
     }
 
+    /**
+     * Returns whether sources and javadoc that are always attached are only downloaded once they are needed.
+     */
+    public static boolean isLazyAttachSourcesAndJavadocs(final Project project) {
+        return getProjectConfig(project).isLazyAttachSourcesAndJavadocs();
+    }
+
     public static boolean detectDependenciesOnOtherModulesWhileResolving(final Project project){
         return getProjectConfig(project).isDetectDependenciesOnOtherModules();
     }
 
+    /**
+     * Returns the number of modules that may be resolved concurrently; never less than 1.
+     */
+    public static int getResolveParallelism(final Project project) {
+        return Math.max(1, getProjectConfig(project).getResolveParallelism());
+    }
+
+    public static boolean isAutoResolve(final Project project) {
+        return getProjectConfig(project).isAutoResolve();
+    }
+
+    /**
+     * Returns how long a downloaded copy of remote ivy settings is used before checking the server for changes.
+     */
+    public static int getRemoteSettingsCacheMinutes(final Project project) {
+        return Math.max(0, getProjectConfig(project).getRemoteSettingsCacheMinutes());
+    }
+
+    public static boolean isReuseResolveResults(final Project project) {
+        return getProjectConfig(project).isReuseResolveResults();
+    }
+
     @NotNull
     private static IvyIdeaProjectSettings getProjectConfig(Project project) {
         IvyIdeaProjectService component = project.getService(IvyIdeaProjectService.class);
@@ -142,7 +178,7 @@ public class IvyIdeaConfigHelper {
     }
 
     @Nullable
-    private static String getIvySettingsFile(Module module) throws IvySettingsNotFoundException {
+    public static String getIvySettingsFile(Module module) throws IvySettingsNotFoundException {
         final IvyIdeaFacetConfiguration moduleConfiguration = getModuleConfiguration(module);
         if (moduleConfiguration.isUseProjectSettings()) {
             return getProjectIvySettingsFile(module.getProject());
@@ -203,36 +239,77 @@ public class IvyIdeaConfigHelper {
         }
     }
 
+    /**
+     * Returns whether the given ivy settings location is loaded over http.
+     *
+     * @param settingsFile a settings file path or url, as returned by {@link #getIvySettingsFile(Module)}
+     */
+    public static boolean isRemoteSettingsFile(@Nullable String settingsFile) {
+        return settingsFile != null && (settingsFile.startsWith("http://") || settingsFile.startsWith("https://"));
+    }
+
+    /**
+     * Returns the local file for the given ivy settings location.
+     *
+     * @param settingsFile a settings file path or url, as returned by {@link #getIvySettingsFile(Module)}
+     * @return the file, or null if no settings file is given or the settings are loaded over http
+     */
+    @Nullable
+    public static File getLocalSettingsFile(@Nullable String settingsFile) {
+        if (StringUtils.isBlank(settingsFile) || isRemoteSettingsFile(settingsFile)) {
+            return null;
+        }
+        if (settingsFile.startsWith("file://")) {
+            try {
+                return new File(new URI(settingsFile));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return new File(settingsFile);
+    }
+
     @NotNull
     public static Properties getIvyProperties(Module module) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        return loadProperties(module, getPropertiesFiles(module));
+    }
+
+    /**
+     * Returns the properties files that are loaded for the given module, the module level ones first.
+     */
+    @NotNull
+    public static List<String> getPropertiesFiles(Module module) {
         final IvyIdeaFacetConfiguration moduleConfiguration = getModuleConfiguration(module);
         final List<String> propertiesFiles = new ArrayList<>(moduleConfiguration.getPropertiesSettings().getPropertyFiles());
         final FacetPropertiesSettings modulePropertiesSettings = moduleConfiguration.getPropertiesSettings();
         if (modulePropertiesSettings.isIncludeProjectLevelPropertiesFiles()) {
             propertiesFiles.addAll(getProjectConfig(module.getProject()).getPropertiesSettings().getPropertyFiles());
         }
-        return loadProperties(module, propertiesFiles);
+        return propertiesFiles;
     }
 
+    /**
+     * Loads the given properties files; the properties of the files listed first take precedence.
+     * Files that did not change since they were last loaded are not read again.
+     */
     @NotNull
     public static Properties loadProperties(Module module, List<String> propertiesFiles) throws IvySettingsNotFoundException, IvySettingsFileReadException {
-        // Go over the files in reverse order --> files listed first should have priority and loading properties
-        // overwrited previously loaded ones.
-        final Properties properties = new Properties();
-        for (String propertiesFile : CollectionUtils.createReversedList(propertiesFiles)) {
+        final PropertiesFileCache propertiesFileCache = PropertiesFileCache.getInstance(module.getProject());
+        final List<PropertiesFileCache.Snapshot> snapshots = new ArrayList<>(propertiesFiles.size());
+        for (String propertiesFile : propertiesFiles) {
             if (propertiesFile != null) {
                 File result = new File(propertiesFile);
                 if (!result.exists()) {
                     throw new IvySettingsNotFoundException("The ivy properties file given in the module settings for module " + module.getName() + " does not exist: " + result.getAbsolutePath(), IvySettingsNotFoundException.ConfigLocation.Module, module.getName());
                 }
                 try {
-                    properties.load(new FileInputStream(result));
+                    snapshots.add(propertiesFileCache.getSnapshot(result));
                 } catch (IOException e) {
                     throw new IvySettingsFileReadException(result.getAbsolutePath(), module.getName(), e);
                 }
             }
         }
-        return properties;
+        return propertiesFileCache.merge(snapshots);
     }
 
     @NotNull
@@ -242,14 +319,25 @@ public class IvyIdeaConfigHelper {
 
     @NotNull
     public static IvySettings createConfiguredIvySettings(Module module, @Nullable String settingsFile, Properties properties) throws IvySettingsFileReadException {
-        IvySettings s = new IvySettings();
+        return createConfiguredIvySettings(module, settingsFile, properties, null);
+    }
+
+    /**
+     * Creates the ivy settings for the given module from the given settings file and properties.
+     *
+     * @param settingsFiles receives the local settings and properties files that were read while
+     *                      loading the settings, including the ones they include, if not null
+     */
+    @NotNull
+    public static IvySettings createConfiguredIvySettings(Module module, @Nullable String settingsFile, Properties properties,
+                                                          @Nullable Collection<File> settingsFiles) throws IvySettingsFileReadException {
+        IvySettings s = settingsFiles == null ? new IvySettings() : new RecordingIvySettings(settingsFiles);
         injectProperties(s, module, properties); // inject our properties; they may be needed to parse the settings file
 
         try {
             if (!StringUtils.isBlank(settingsFile)) {
-                if (settingsFile.startsWith("http://") || settingsFile.startsWith("https://")) {
-                    HttpConfigurable.getInstance().prepareURL(settingsFile);
-                    s.load(new URL(settingsFile));
+                if (isRemoteSettingsFile(settingsFile)) {
+                    RemoteSettingsCache.getInstance(module.getProject()).load(s, new URL(settingsFile));
                 } else if (settingsFile.startsWith("file://")) {
                     s.load(new URL(settingsFile));
                 } else {
@@ -304,4 +392,51 @@ public class IvyIdeaConfigHelper {
         }
         return moduleConfiguration;
     }
+
+    /**
+     * Ivy settings that keep track of the local files read while they are loaded. Ivy announces
+     * every settings file it parses, including the included ones, and loads every properties file
+     * through these methods.
+     */
+    private static class RecordingIvySettings extends IvySettings {
+        private final Collection<File> files;
+
+        private RecordingIvySettings(Collection<File> files) {
+            this.files = files;
+        }
+
+        @Override
+        public synchronized void setSettingsVariables(File settingsFile) {
+            files.add(settingsFile.getAbsoluteFile());
+            super.setSettingsVariables(settingsFile);
+        }
+
+        @Override
+        public synchronized void setSettingsVariables(URL settingsURL) {
+            addFile(settingsURL);
+            super.setSettingsVariables(settingsURL);
+        }
+
+        @Override
+        public synchronized void loadProperties(URL url, boolean overwrite) throws IOException {
+            addFile(url);
+            super.loadProperties(url, overwrite);
+        }
+
+        @Override
+        public synchronized void loadProperties(File file, boolean overwrite) throws IOException {
+            files.add(file.getAbsoluteFile());
+            super.loadProperties(file, overwrite);
+        }
+
+        private void addFile(URL url) {
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    files.add(new File(url.toURI()));
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    // not a file Ivy could have read either
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.config;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the contents of the properties files that are injected in the ivy settings, so a
+ * properties file is only read again when it changed.
+ * <p>
+ * The contents of a file are reused as long as its size and modification time are the same. The
+ * properties of the files of a module are merged once for every list of files, and merged again
+ * when the contents of one of these files had to be read again; modules that include the same
+ * project level properties files share the result. Only the most recently used lists of files are
+ * kept merged, so the lists tried while editing the settings don't pile up.
+ *
+ * @see IvyIdeaConfigHelper#loadProperties
+ */
+public class PropertiesFileCache {
+
+    private static final int MAX_MERGED_PROPERTIES = 64;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<List<String>, MergedProperties> mergedProperties = Collections.synchronizedMap(
+            new LinkedHashMap<List<String>, MergedProperties>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, MergedProperties> eldest) {
+                    return size() > MAX_MERGED_PROPERTIES;
+                }
+            });
+
+    public static PropertiesFileCache getInstance(Project project) {
+        return project.getService(PropertiesFileCache.class);
+    }
+
+    /**
+     * Returns the contents of the given properties file, reading it if it was not read before or changed since.
+     */
+    @NotNull
+    Snapshot getSnapshot(@NotNull File file) throws IOException {
+        final String path = FileUtil.toSystemIndependentName(file.getAbsolutePath());
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final Snapshot snapshot = snapshots.get(path);
+        if (snapshot != null && snapshot.lastModified == lastModified && snapshot.length == length) {
+            return snapshot;
+        }
+
+        final Properties properties = new Properties();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            properties.load(in);
+        }
+        final Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        final Snapshot newSnapshot = new Snapshot(path, lastModified, length, Collections.unmodifiableMap(values));
+        if (snapshots.put(path, newSnapshot) != null) {
+            // the properties merged from the old contents are of no use anymore
+            synchronized (mergedProperties) {
+                mergedProperties.keySet().removeIf(paths -> paths.contains(path));
+            }
+        }
+        return newSnapshot;
+    }
+
+    /**
+     * Merges the contents of the given properties files; the properties of the files listed first
+     * take precedence over the ones of the files listed after them.
+     *
+     * @return new properties, which the caller may change
+     */
+    @NotNull
+    Properties merge(@NotNull List<Snapshot> files) {
+        final List<String> paths = new ArrayList<>(files.size());
+        for (Snapshot file : files) {
+            paths.add(file.path);
+        }
+
+        MergedProperties merged = mergedProperties.get(paths);
+        if (merged == null || !merged.isMergedFrom(files)) {
+            final Map<String, String> values = new HashMap<>();
+            for (Snapshot file : files) {
+                for (Map.Entry<String, String> entry : file.values.entrySet()) {
+                    values.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+            merged = new MergedProperties(new ArrayList<>(files), values);
+            mergedProperties.put(paths, merged);
+        }
+
+        final Properties properties = new Properties();
+        properties.putAll(merged.values);
+        return properties;
+    }
+
+    /**
+     * The contents of a properties file at the time it was read.
+     */
+    static final class Snapshot {
+        private final String path;
+        private final long lastModified;
+        private final long length;
+        private final Map<String, String> values;
+
+        private Snapshot(String path, long lastModified, long length, Map<String, String> values) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.values = values;
+        }
+
+        @NotNull
+        Map<String, String> getValues() {
+            return values;
+        }
+    }
+
+    private static class MergedProperties {
+        private final List<Snapshot> files;
+        private final Map<String, String> values;
+
+        private MergedProperties(List<Snapshot> files, Map<String, String> values) {
+            this.files = files;
+            this.values = values;
+        }
+
+        private boolean isMergedFrom(List<Snapshot> otherFiles) {
+            if (files.size() != otherFiles.size()) {
+                return false;
+            }
+            for (int i = 0; i < files.size(); i++) {
+                if (files.get(i) != otherFiles.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.config;
+
+import com.intellij.openapi.module.Module;
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.resolve.ResolveOptions;
+import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
+import org.clarent.ivyidea.config.model.IvyIdeaProjectSettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The project settings used by a resolve run, captured once when the run starts.
+ * <p>
+ * All modules of a run are resolved and added to the model with the same settings, also when
+ * they are changed while the run is busy, and the settings are not looked up again for every
+ * dependency. Instances are immutable, so they can be shared between the threads of a run.
+ *
+ * @see IvyIdeaConfigHelper#createResolveSettings(com.intellij.openapi.project.Project)
+ */
+public final class ResolveSettings {
+
+    private final boolean alwaysAttachSources;
+    private final boolean alwaysAttachJavadocs;
+    private final boolean lazyAttachSourcesAndJavadocs;
+    private final boolean detectDependenciesOnOtherModules;
+    private final boolean reuseResolveResults;
+    private final boolean libraryNameIncludesModule;
+    private final boolean libraryNameIncludesConfiguration;
+    private final int resolveParallelism;
+    private final boolean validateIvyFiles;
+    private final boolean resolveTransitively;
+    private final boolean resolveCacheOnly;
+    private final boolean resolveFromCacheFirst;
+    private final boolean resolveFromCacheOnly;
+    private final ArtifactTypeSettings artifactTypeSettings;
+
+    /**
+     * Captures the given project settings; use {@link IvyIdeaConfigHelper#createResolveSettings} for
+     * the settings of a project.
+     */
+    public ResolveSettings(@NotNull IvyIdeaProjectSettings settings) {
+        alwaysAttachSources = settings.isAlwaysAttachSources();
+        alwaysAttachJavadocs = settings.isAlwaysAttachJavadocs();
+        lazyAttachSourcesAndJavadocs = settings.isLazyAttachSourcesAndJavadocs();
+        detectDependenciesOnOtherModules = settings.isDetectDependenciesOnOtherModules();
+        reuseResolveResults = settings.isReuseResolveResults();
+        libraryNameIncludesModule = settings.isLibraryNameIncludesModule();
+        libraryNameIncludesConfiguration = settings.isLibraryNameIncludesConfiguration();
+        resolveParallelism = Math.max(1, settings.getResolveParallelism());
+        validateIvyFiles = settings.isValidateIvyFiles();
+        resolveTransitively = settings.isResolveTransitively();
+        resolveCacheOnly = settings.isResolveCacheOnly();
+        resolveFromCacheFirst = settings.isResolveFromCacheFirst();
+        resolveFromCacheOnly = false;
+        artifactTypeSettings = settings.getArtifactTypeSettings().copy();
+    }
+
+    private ResolveSettings(@NotNull ResolveSettings settings, boolean resolveFromCacheOnly) {
+        alwaysAttachSources = settings.alwaysAttachSources;
+        alwaysAttachJavadocs = settings.alwaysAttachJavadocs;
+        lazyAttachSourcesAndJavadocs = settings.lazyAttachSourcesAndJavadocs;
+        detectDependenciesOnOtherModules = settings.detectDependenciesOnOtherModules;
+        reuseResolveResults = settings.reuseResolveResults;
+        libraryNameIncludesModule = settings.libraryNameIncludesModule;
+        libraryNameIncludesConfiguration = settings.libraryNameIncludesConfiguration;
+        resolveParallelism = settings.resolveParallelism;
+        validateIvyFiles = settings.validateIvyFiles;
+        resolveTransitively = settings.resolveTransitively;
+        resolveCacheOnly = settings.resolveCacheOnly;
+        resolveFromCacheFirst = settings.resolveFromCacheFirst;
+        this.resolveFromCacheOnly = resolveFromCacheOnly;
+        artifactTypeSettings = settings.artifactTypeSettings;
+    }
+
+    /**
+     * Returns the same settings for a run that only resolves from the ivy cache, whatever the
+     * resolve options of the modules say.
+     */
+    @NotNull
+    public ResolveSettings forCacheOnlyResolve() {
+        return new ResolveSettings(this, true);
+    }
+
+    public boolean isAlwaysAttachSources() {
+        return alwaysAttachSources;
+    }
+
+    public boolean isAlwaysAttachJavadocs() {
+        return alwaysAttachJavadocs;
+    }
+
+    /**
+     * Returns whether sources and javadoc that are always attached are only downloaded once they are needed.
+     */
+    public boolean isLazyAttachSourcesAndJavadocs() {
+        return lazyAttachSourcesAndJavadocs;
+    }
+
+    public boolean isDetectDependenciesOnOtherModules() {
+        return detectDependenciesOnOtherModules;
+    }
+
+    public boolean isReuseResolveResults() {
+        return reuseResolveResults;
+    }
+
+    public boolean isLibraryNameIncludesModule() {
+        return libraryNameIncludesModule;
+    }
+
+    public boolean isLibraryNameIncludesConfiguration() {
+        return libraryNameIncludesConfiguration;
+    }
+
+    /**
+     * Returns the number of modules that may be resolved concurrently; never less than 1.
+     */
+    public int getResolveParallelism() {
+        return resolveParallelism;
+    }
+
+    /**
+     * Applies the project level resolve options: validation, transitivity and using the ivy cache only.
+     */
+    public void updateResolveOptions(@NotNull ResolveOptions options) {
+        options.setValidate(validateIvyFiles);
+        options.setTransitive(resolveTransitively);
+        options.setUseCacheOnly(resolveCacheOnly);
+    }
+
+    /**
+     * Returns whether modules are first resolved from the ivy cache only, and only resolved again with
+     * the repositories when that result may be incomplete or outdated.
+     */
+    public boolean isResolveFromCacheFirst() {
+        return resolveFromCacheFirst;
+    }
+
+    /**
+     * Returns whether this run only resolves from the ivy cache.
+     *
+     * @see #forCacheOnlyResolve()
+     */
+    public boolean isResolveFromCacheOnly() {
+        return resolveFromCacheOnly;
+    }
+
+    /**
+     * @return a copy of the artifact type settings of the project, which must not be changed
+     */
+    @NotNull
+    public ArtifactTypeSettings getArtifactTypeSettings() {
+        return artifactTypeSettings;
+    }
+
+    @Nullable
+    public ArtifactTypeSettings.DependencyCategory getCategory(@NotNull Artifact artifact) {
+        return artifactTypeSettings.getCategoryForType(artifact.getType());
+    }
+
+    /**
+     * Returns the name of the library the dependencies of the given configuration are added to.
+     */
+    @NotNull
+    public String getCreatedLibraryName(@NotNull Module module, @NotNull String configName) {
+        String libraryName = IvyIdeaConfigHelper.RESOLVED_LIB_NAME_ROOT;
+        if (libraryNameIncludesModule) {
+            libraryName += "-" + module.getName();
+        }
+        if (libraryNameIncludesConfiguration) {
+            libraryName += "-" + configName;
+        }
+        return libraryName;
+    }
+}
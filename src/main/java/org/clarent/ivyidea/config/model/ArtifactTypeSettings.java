@@ -22,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Arrays.asList;
 import static org.clarent.ivyidea.config.model.ArtifactTypeSettings.DependencyCategory.Classes;
@@ -51,33 +52,60 @@ public class ArtifactTypeSettings implements PersistentStateComponent<ArtifactTy
 
     private Map<DependencyCategory, Set<String>> typesPerCategory = new HashMap<DependencyCategory, Set<String>>();
 
+    // built from typesPerCategory on first use, discarded when the types change
+    private volatile CategoryLookup categoryLookup;
+
+    /**
+     * Returns the category of the given artifact type. When nothing is configured for any
+     * category, the default types are used. A type that is configured for several categories
+     * belongs to the first of them, in the order of {@link DependencyCategory}.
+     */
     @Nullable
     public DependencyCategory getCategoryForType(String type) {
         if (type == null) {
             return null;
         }
-        if (isConfigurationEmpty()) {
-            fillDefaults();
+        CategoryLookup lookup = categoryLookup;
+        if (lookup == null) {
+            lookup = createCategoryLookup();
         }
-        for (DependencyCategory dependencyCategory : typesPerCategory.keySet()) {
-            final Set<String> types = typesPerCategory.get(dependencyCategory);
-            if (types != null && types.contains(type.trim().toLowerCase())) {
-                return dependencyCategory;
+        return lookup.getCategory(type);
+    }
+
+    private synchronized CategoryLookup createCategoryLookup() {
+        if (categoryLookup == null) {
+            final boolean useDefaults = isConfigurationEmpty();
+            final Map<String, DependencyCategory> categoriesByType = new HashMap<>();
+            for (DependencyCategory category : DependencyCategory.values()) {
+                final Collection<String> types = useDefaults ? category.getDefaultTypes() : typesPerCategory.get(category);
+                if (types != null) {
+                    for (String type : types) {
+                        categoriesByType.putIfAbsent(type, category);
+                    }
+                }
             }
+            categoryLookup = new CategoryLookup(categoriesByType);
         }
-        return null;
+        return categoryLookup;
     }
 
-    private void fillDefaults() {
-        for (DependencyCategory category : DependencyCategory.values()) {
-            setTypesForCategory(category, joinArtifactTypes(category.getDefaultTypes()));
+    public synchronized void setTypesForCategory(@NotNull DependencyCategory category, String types) {
+        if (types != null) {
+            typesPerCategory.put(category, splitArtifactTypes(types));
+            categoryLookup = null;
         }
     }
 
-    public void setTypesForCategory(@NotNull DependencyCategory category, String types) {
-        if (types != null) {
-            typesPerCategory.put(category, splitArtifactTypes(types));
+    /**
+     * @return a copy of these settings that is not affected by later changes to them
+     */
+    @NotNull
+    public synchronized ArtifactTypeSettings copy() {
+        final ArtifactTypeSettings copy = new ArtifactTypeSettings();
+        for (Map.Entry<DependencyCategory, Set<String>> entry : typesPerCategory.entrySet()) {
+            copy.typesPerCategory.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
         }
+        return copy;
     }
 
     public String getTypesStringForCategory(@NotNull DependencyCategory category) {
@@ -138,6 +166,35 @@ public class ArtifactTypeSettings implements PersistentStateComponent<ArtifactTy
         XmlSerializerUtil.copyBean(state, this);
     }
 
+    /**
+     * The categories of the artifact types, also by the types as they are found in the artifacts,
+     * so looking up a type does not need to normalize it again. Only a limited number of distinct
+     * types is remembered, to protect against unusual repositories.
+     */
+    private static class CategoryLookup {
+
+        private static final int MAX_REMEMBERED_TYPES = 256;
+
+        private final Map<String, DependencyCategory> categoriesByType;
+        private final Map<String, Optional<DependencyCategory>> categoriesByArtifactType = new ConcurrentHashMap<>();
+
+        private CategoryLookup(Map<String, DependencyCategory> categoriesByType) {
+            this.categoriesByType = Collections.unmodifiableMap(categoriesByType);
+        }
+
+        @Nullable
+        private DependencyCategory getCategory(@NotNull String artifactType) {
+            Optional<DependencyCategory> category = categoriesByArtifactType.get(artifactType);
+            if (category == null) {
+                category = Optional.ofNullable(categoriesByType.get(artifactType.trim().toLowerCase()));
+                if (categoriesByArtifactType.size() < MAX_REMEMBERED_TYPES) {
+                    categoriesByArtifactType.put(artifactType, category);
+                }
+            }
+            return category.orElse(null);
+        }
+    }
+
     // Getters and setters needed for intellij settings serialization
 
     public String getSourcesTypes() {
@@ -16,7 +16,6 @@
 
 package org.clarent.ivyidea.config.model;
 
-import org.apache.ivy.core.resolve.ResolveOptions;
 import org.clarent.ivyidea.logging.IvyLogLevel;
 
 /**
@@ -36,6 +35,12 @@ public class IvyIdeaProjectSettings {
     private boolean libraryNameIncludesConfiguration = false;
     private boolean detectDependenciesOnOtherModules = true;
     private String ivyLogLevelThreshold = IvyLogLevel.None.name();
+    private int resolveParallelism = 1;
+    private boolean reuseResolveResults = true;
+    private boolean autoResolve = false;
+    private boolean lazyAttachSourcesAndJavadocs = false;
+    private int remoteSettingsCacheMinutes = 10;
+    private boolean resolveFromCacheFirst = false;
 
 
     private ArtifactTypeSettings artifactTypeSettings = new ArtifactTypeSettings();
@@ -146,6 +151,54 @@ public class IvyIdeaProjectSettings {
         this.ivyLogLevelThreshold = ivyLogLevelThreshold;
     }
 
+    public int getResolveParallelism() {
+        return resolveParallelism;
+    }
+
+    public void setResolveParallelism(int resolveParallelism) {
+        this.resolveParallelism = resolveParallelism;
+    }
+
+    public boolean isReuseResolveResults() {
+        return reuseResolveResults;
+    }
+
+    public void setReuseResolveResults(boolean reuseResolveResults) {
+        this.reuseResolveResults = reuseResolveResults;
+    }
+
+    public boolean isAutoResolve() {
+        return autoResolve;
+    }
+
+    public void setAutoResolve(boolean autoResolve) {
+        this.autoResolve = autoResolve;
+    }
+
+    public boolean isLazyAttachSourcesAndJavadocs() {
+        return lazyAttachSourcesAndJavadocs;
+    }
+
+    public void setLazyAttachSourcesAndJavadocs(boolean lazyAttachSourcesAndJavadocs) {
+        this.lazyAttachSourcesAndJavadocs = lazyAttachSourcesAndJavadocs;
+    }
+
+    public boolean isResolveFromCacheFirst() {
+        return resolveFromCacheFirst;
+    }
+
+    public void setResolveFromCacheFirst(boolean resolveFromCacheFirst) {
+        this.resolveFromCacheFirst = resolveFromCacheFirst;
+    }
+
+    public int getRemoteSettingsCacheMinutes() {
+        return remoteSettingsCacheMinutes;
+    }
+
+    public void setRemoteSettingsCacheMinutes(int remoteSettingsCacheMinutes) {
+        this.remoteSettingsCacheMinutes = remoteSettingsCacheMinutes;
+    }
+
     public ArtifactTypeSettings getArtifactTypeSettings() {
         return artifactTypeSettings;
     }
@@ -153,10 +206,4 @@ public class IvyIdeaProjectSettings {
     public void setArtifactTypeSettings(ArtifactTypeSettings artifactTypeSettings) {
         this.artifactTypeSettings = artifactTypeSettings;
     }
-
-    public void updateResolveOptions(ResolveOptions options) {
-        options.setValidate(isValidateIvyFiles());
-        options.setTransitive(isResolveTransitively());
-        options.setUseCacheOnly(isResolveCacheOnly());
-    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.Alarm;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.exception.IvyFileReadException;
+import org.clarent.ivyidea.exception.IvyIdeaException;
+import org.clarent.ivyidea.exception.IvySettingsFileReadException;
+import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.intellij.task.IvyIdeaResolveBackgroundTask;
+import org.clarent.ivyidea.intellij.task.NetworkResolveTask;
+import org.clarent.ivyidea.ivy.IvyManager;
+import org.clarent.ivyidea.resolve.IntellijDependencyResolver;
+import org.clarent.ivyidea.resolve.MultiModuleResolver;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Resolves modules automatically after their ivy related files changed.
+ * <p>
+ * Changes are collected until no new ones arrived for a short while, so a burst of changes
+ * (saving all files, switching branches) leads to a single resolve. Besides the changed modules,
+ * the modules that depend on them are resolved as well. Only one automatic resolve runs at a
+ * time; changes made while it runs are picked up when it is done.
+ */
+public class AutoResolveService implements Disposable {
+
+    private static final int DELAY_MILLIS = 1000;
+
+    private final Project project;
+    private final Alarm alarm;
+    private final Set<Module> pendingModules = new LinkedHashSet<>();
+    private boolean resolving;
+
+    public AutoResolveService(Project project) {
+        this.project = project;
+        this.alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+    }
+
+    public static AutoResolveService getInstance(Project project) {
+        return project.getService(AutoResolveService.class);
+    }
+
+    /**
+     * Schedules the given modules, and the modules that depend on them, to be resolved.
+     */
+    public void scheduleResolve(@NotNull Collection<Module> modules) {
+        synchronized (pendingModules) {
+            pendingModules.addAll(modules);
+        }
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::startResolve, DELAY_MILLIS);
+    }
+
+    private void startResolve() {
+        final Set<Module> changedModules;
+        synchronized (pendingModules) {
+            if (resolving || pendingModules.isEmpty() || project.isDisposed()) {
+                return;
+            }
+            changedModules = new LinkedHashSet<>(pendingModules);
+            pendingModules.clear();
+            resolving = true;
+        }
+
+        ProgressManager.getInstance().run(new IvyIdeaResolveBackgroundTask(project, "Resolve for Changed Modules") {
+            public void doResolve(@NotNull ProgressIndicator indicator) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+                final IvyManager ivyManager = new IvyManager(IvyIdeaConfigHelper.createFirstResolveSettings(project));
+                final List<Module> modules = getModulesToResolve(changedModules, ivyManager);
+                final MultiModuleResolver multiModuleResolver = new MultiModuleResolver(ivyManager, ivyManager.getResolveSettings().getResolveParallelism());
+                final List<IntellijDependencyResolver> resolvers = multiModuleResolver.resolve(modules, indicator, getProgressMonitorThread());
+                if (indicator.isCanceled()) {
+                    return;
+                }
+
+                final Map<Module, List<ResolvedDependency>> dependenciesByModule = new LinkedHashMap<>();
+                for (IntellijDependencyResolver resolver : resolvers) {
+                    dependenciesByModule.put(resolver.getModule(), resolver.getDependencies());
+                }
+                ResolveResultHandler.updateIntellijModel(project, dependenciesByModule, ivyManager.getResolveSettings(), ivyManager.getStatistics());
+                for (IntellijDependencyResolver resolver : resolvers) {
+                    if (!resolver.needsRepositoryResolve()) {
+                        ResolveResultHandler.reportProblems(resolver.getModule(), resolver.getProblems());
+                    }
+                }
+                NetworkResolveTask.startIfNeeded(project, resolvers);
+            }
+
+            @Override
+            protected void handle(IvyIdeaException exception) {
+                // Don't interrupt the user with a dialog for a resolve that was not explicitly requested
+                IntellijUtils.getConsoleView(project).print("Automatic resolve failed: " + exception.getMessage() + '\n', ConsoleViewContentType.ERROR_OUTPUT);
+                IntellijUtils.getToolWindow(project).show(null);
+            }
+
+            @Override
+            public void onFinished() {
+                synchronized (pendingModules) {
+                    resolving = false;
+                }
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    if (!project.isDisposed()) {
+                        startResolve();
+                    }
+                });
+            }
+        });
+    }
+
+    private List<Module> getModulesToResolve(Set<Module> changedModules, IvyManager ivyManager) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        final List<Module> allModules = Arrays.asList(IntellijUtils.getAllModulesWithIvyIdeaFacet(project));
+        final Set<Module> modulesToResolve;
+        if (ivyManager.getResolveSettings().isDetectDependenciesOnOtherModules()) {
+            modulesToResolve = MultiModuleResolver.createModuleGraph(allModules, ivyManager).getTransitiveDependents(changedModules);
+        } else {
+            modulesToResolve = changedModules;
+        }
+
+        // keep the order of the modules in the project; skip modules that were removed in the meantime
+        final List<Module> result = new ArrayList<>();
+        for (Module module : allModules) {
+            if (modulesToResolve.contains(module)) {
+                result.add(module);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (pendingModules) {
+            pendingModules.clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.ivy.ModuleDescriptorCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Forgets the parsed ivy files that changed, and schedules an automatic resolve of the modules
+ * whose ivy file, ivy settings file or properties files changed, when automatic resolving is
+ * enabled in the project settings. The modules depending on a changed file are looked up in the
+ * {@link WatchedFilesIndex}.
+ */
+public class IvyFileChangeListener implements BulkFileListener {
+
+    private final Project project;
+
+    public IvyFileChangeListener(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void after(@NotNull List<? extends VFileEvent> events) {
+        if (project.isDisposed()) {
+            return;
+        }
+
+        final Set<String> changedPaths = new HashSet<>();
+        for (VFileEvent event : events) {
+            changedPaths.add(event.getPath());
+            if (event instanceof VFileMoveEvent) {
+                changedPaths.add(((VFileMoveEvent) event).getOldPath());
+            } else if (event instanceof VFilePropertyChangeEvent) {
+                changedPaths.add(((VFilePropertyChangeEvent) event).getOldPath());
+            }
+        }
+        ModuleDescriptorCache.getInstance(project).invalidate(changedPaths);
+        if (!IvyIdeaConfigHelper.isAutoResolve(project)) {
+            return;
+        }
+
+        final Set<Module> affectedModules = WatchedFilesIndex.getInstance(project).getModulesWatching(changedPaths);
+        if (!affectedModules.isEmpty()) {
+            AutoResolveService.getInstance(project).scheduleResolve(affectedModules);
+        }
+    }
+}
@@ -3,17 +3,36 @@ package org.clarent.ivyidea.intellij;
 import com.intellij.execution.filters.TextConsoleBuilderFactory;
 import com.intellij.execution.ui.ConsoleView;
 import com.intellij.openapi.project.Project;
+import org.clarent.ivyidea.resolve.ResolveStatistics;
+import org.jetbrains.annotations.Nullable;
 
 public class IvyIdeaConsoleService {
 
     private final ConsoleView consoleView;
+    private volatile ResolveStatistics lastResolveStatistics;
 
     public IvyIdeaConsoleService(Project project) {
         consoleView = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
     }
 
+    public static IvyIdeaConsoleService getInstance(Project project) {
+        return project.getService(IvyIdeaConsoleService.class);
+    }
+
     public ConsoleView getConsoleView() {
         return consoleView;
     }
 
+    /**
+     * @return the statistics of the last resolve that was reported in the console, if any
+     */
+    @Nullable
+    public ResolveStatistics getLastResolveStatistics() {
+        return lastResolveStatistics;
+    }
+
+    public void setLastResolveStatistics(ResolveStatistics lastResolveStatistics) {
+        this.lastResolveStatistics = lastResolveStatistics;
+    }
+
 }
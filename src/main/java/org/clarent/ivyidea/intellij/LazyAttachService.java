@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import org.apache.ivy.Ivy;
+import org.apache.ivy.core.report.ArtifactDownloadReport;
+import org.apache.ivy.core.resolve.DownloadOptions;
+import org.clarent.ivyidea.exception.IvyIdeaException;
+import org.clarent.ivyidea.intellij.model.IntellijModuleWrapper;
+import org.clarent.ivyidea.ivy.IvyEngineCache;
+import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
+import org.clarent.ivyidea.resolve.dependency.ExternalDependencyFactory;
+import org.clarent.ivyidea.resolve.dependency.LazyAttachDependency;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Keeps track of the source and javadoc artifacts that were found during a resolve in lazy
+ * attach mode, and downloads and attaches them when the sources of a library are requested.
+ * <p>
+ * The artifacts are looked up by the file of the classes artifact they belong to. They are
+ * forgotten once their download was attempted; if it failed, the next resolve registers them again.
+ * Artifacts that were not attempted because the download was cancelled stay registered. Every
+ * applied resolve of a module replaces the artifacts registered for it, so artifacts of
+ * dependencies the module no longer has are forgotten as well.
+ */
+public class LazyAttachService {
+
+    private static final Logger LOGGER = Logger.getLogger(LazyAttachService.class.getName());
+
+    private final Project project;
+    private final Map<String, List<Candidate>> candidatesByClassesFile = new HashMap<>();
+
+    public LazyAttachService(Project project) {
+        this.project = project;
+    }
+
+    public static LazyAttachService getInstance(Project project) {
+        return project.getService(LazyAttachService.class);
+    }
+
+    /**
+     * Registers an artifact that is to be downloaded once the sources of its classes files are needed.
+     */
+    public synchronized void register(@NotNull Module module, @NotNull LazyAttachDependency dependency) {
+        for (File classesFile : dependency.getClassesFiles()) {
+            final List<Candidate> candidates = candidatesByClassesFile.computeIfAbsent(getKey(classesFile), key -> new ArrayList<>());
+            candidates.removeIf(candidate -> candidate.isFor(module, dependency));
+            candidates.add(new Candidate(module, dependency));
+        }
+    }
+
+    /**
+     * Replaces the artifacts registered for the given module by the given ones, which were found by
+     * its latest resolve. The artifacts of disposed modules are forgotten as well.
+     */
+    public synchronized void replace(@NotNull Module module, @NotNull Collection<LazyAttachDependency> dependencies) {
+        for (Iterator<List<Candidate>> it = candidatesByClassesFile.values().iterator(); it.hasNext(); ) {
+            final List<Candidate> candidates = it.next();
+            candidates.removeIf(candidate -> candidate.module.equals(module) || candidate.module.isDisposed());
+            if (candidates.isEmpty()) {
+                it.remove();
+            }
+        }
+        for (LazyAttachDependency dependency : dependencies) {
+            register(module, dependency);
+        }
+    }
+
+    /**
+     * Returns whether any artifacts are waiting to be downloaded for the given classes file.
+     */
+    public synchronized boolean hasCandidates(@NotNull File classesFile) {
+        final List<Candidate> candidates = candidatesByClassesFile.get(getKey(classesFile));
+        return candidates != null && !candidates.isEmpty();
+    }
+
+    /**
+     * Downloads the artifacts registered for the given classes file, and attaches them to the
+     * libraries of the modules they were found for. When cancelled, the artifacts downloaded so far
+     * are still attached, and the ones that were not tried yet stay registered.
+     *
+     * @return the number of artifacts that were attached
+     */
+    public int downloadAndAttach(@NotNull File classesFile, @NotNull ProgressIndicator indicator) {
+        final List<Candidate> candidates;
+        synchronized (this) {
+            candidates = candidatesByClassesFile.remove(getKey(classesFile));
+        }
+        if (candidates == null) {
+            return 0;
+        }
+
+        final Map<Module, List<ExternalDependency>> downloaded = new LinkedHashMap<>();
+        int tried = 0;
+        try {
+            for (Candidate candidate : candidates) {
+                indicator.checkCanceled();
+                tried++;
+                if (candidate.module.isDisposed()) {
+                    continue;
+                }
+                indicator.setText2(candidate.dependency.getArtifact().getName() + " (" + candidate.dependency.getArtifact().getType() + ")");
+                final File file = download(candidate);
+                if (file != null) {
+                    downloaded.computeIfAbsent(candidate.module, module -> new ArrayList<>()).add(
+                            ExternalDependencyFactory.getInstance().createExternalDependency(candidate.dependency.getCategory(),
+                                    candidate.dependency.getArtifact(), file, candidate.dependency.getConfigurationName()));
+                }
+            }
+        } finally {
+            restore(classesFile, candidates.subList(tried, candidates.size()));
+            attach(downloaded);
+        }
+
+        int count = 0;
+        for (List<ExternalDependency> dependencies : downloaded.values()) {
+            count += dependencies.size();
+        }
+        return count;
+    }
+
+    /**
+     * Registers the given candidates for the given classes file again, unless the same artifacts
+     * were registered again in the meantime.
+     */
+    private synchronized void restore(File classesFile, List<Candidate> untriedCandidates) {
+        if (untriedCandidates.isEmpty()) {
+            return;
+        }
+        final List<Candidate> candidates = candidatesByClassesFile.computeIfAbsent(getKey(classesFile), key -> new ArrayList<>());
+        for (Candidate untriedCandidate : untriedCandidates) {
+            if (!contains(candidates, untriedCandidate)) {
+                candidates.add(untriedCandidate);
+            }
+        }
+    }
+
+    private static boolean contains(List<Candidate> candidates, Candidate other) {
+        for (Candidate candidate : candidates) {
+            if (candidate.isFor(other.module, other.dependency)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void attach(Map<Module, List<ExternalDependency>> downloaded) {
+        if (downloaded.isEmpty()) {
+            return;
+        }
+        ApplicationManager.getApplication().invokeAndWait(() -> ApplicationManager.getApplication().runWriteAction(() -> {
+            for (Map.Entry<Module, List<ExternalDependency>> entry : downloaded.entrySet()) {
+                if (!entry.getKey().isDisposed()) {
+                    try (IntellijModuleWrapper moduleWrapper = IntellijModuleWrapper.forModule(entry.getKey())) {
+                        for (ExternalDependency dependency : entry.getValue()) {
+                            dependency.addTo(moduleWrapper);
+                        }
+                    }
+                }
+            }
+        }));
+    }
+
+    private File download(Candidate candidate) {
+        final Ivy ivy;
+        try {
+            ivy = IvyEngineCache.getInstance(project).getIvy(candidate.module);
+        } catch (IvyIdeaException e) {
+            LOGGER.warning("Unable to download " + candidate.dependency.getArtifact() + ": " + e.getMessage());
+            return null;
+        }
+        ivy.pushContext();
+        try {
+            final ArtifactDownloadReport report = ivy.getResolveEngine().download(candidate.dependency.getArtifact(), new DownloadOptions());
+            final File localFile = report.getLocalFile();
+            return localFile != null && localFile.isFile() ? localFile : null;
+        } finally {
+            ivy.popContext();
+        }
+    }
+
+    private static String getKey(File file) {
+        return FileUtil.toSystemIndependentName(file.getAbsolutePath());
+    }
+
+    private static class Candidate {
+        private final Module module;
+        private final LazyAttachDependency dependency;
+
+        private Candidate(Module module, LazyAttachDependency dependency) {
+            this.module = module;
+            this.dependency = dependency;
+        }
+
+        private boolean isFor(Module module, LazyAttachDependency dependency) {
+            return this.module.equals(module) && this.dependency.getArtifact().getId().equals(dependency.getArtifact().getId());
+        }
+    }
+}
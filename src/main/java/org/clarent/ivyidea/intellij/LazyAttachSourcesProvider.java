@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij;
+
+import com.intellij.codeInsight.AttachSourcesProvider;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.LibraryOrderEntry;
+import com.intellij.openapi.util.ActionCallback;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Offers to download the sources and javadoc that were left out by a resolve in lazy attach
+ * mode, when a class of the library is opened without sources.
+ */
+public class LazyAttachSourcesProvider implements AttachSourcesProvider {
+
+    @NotNull
+    @Override
+    public Collection<? extends AttachSourcesAction> getActions(@NotNull List<? extends LibraryOrderEntry> orderEntries, @NotNull PsiFile psiFile) {
+        final VirtualFile virtualFile = psiFile.getVirtualFile();
+        final VirtualFile jarFile = virtualFile == null ? null : JarFileSystem.getInstance().getLocalByEntry(virtualFile);
+        if (jarFile == null) {
+            return Collections.emptyList();
+        }
+        final File classesFile = VfsUtilCore.virtualToIoFile(jarFile);
+        final Project project = psiFile.getProject();
+        if (!LazyAttachService.getInstance(project).hasCandidates(classesFile)) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new DownloadAction(project, classesFile));
+    }
+
+    private static class DownloadAction implements AttachSourcesAction {
+        private final Project project;
+        private final File classesFile;
+
+        private DownloadAction(Project project, File classesFile) {
+            this.project = project;
+            this.classesFile = classesFile;
+        }
+
+        @Override
+        public String getName() {
+            return "Download Sources (IvyIDEA)";
+        }
+
+        @Override
+        public String getBusyText() {
+            return "Downloading sources...";
+        }
+
+        @Override
+        public ActionCallback perform(List<? extends LibraryOrderEntry> orderEntriesContainingFile) {
+            final ActionCallback callback = new ActionCallback();
+            ProgressManager.getInstance().run(new Task.Backgroundable(project, "Downloading sources for " + classesFile.getName(), true) {
+                private int attached;
+
+                @Override
+                public void run(@NotNull ProgressIndicator indicator) {
+                    attached = LazyAttachService.getInstance(project).downloadAndAttach(classesFile, indicator);
+                }
+
+                @Override
+                public void onSuccess() {
+                    if (attached > 0) {
+                        callback.setDone();
+                    } else {
+                        callback.setRejected();
+                    }
+                }
+
+                @Override
+                public void onCancel() {
+                    callback.setRejected();
+                }
+
+                @Override
+                public void onThrowable(@NotNull Throwable error) {
+                    callback.setRejected();
+                    super.onThrowable(error);
+                }
+            });
+            return callback;
+        }
+    }
+}
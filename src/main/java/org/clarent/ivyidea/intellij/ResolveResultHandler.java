@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij;
+
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.intellij.facet.config.IvyIdeaFacetConfiguration;
+import org.clarent.ivyidea.intellij.model.ModuleModelUpdater;
+import org.clarent.ivyidea.resolve.ResolveStatistics;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.clarent.ivyidea.resolve.problem.ResolveProblem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies the results of a resolve to the IntelliJ model and reports them in the IvyIDEA console.
+ * All methods can be called from any thread; the actual work is done on the event dispatch thread.
+ *
+ * @author Guy Mahieu
+ */
+public class ResolveResultHandler {
+
+    public static void updateIntellijModel(final Module module, final List<ResolvedDependency> dependencies,
+                                           final ResolveSettings settings, final ResolveStatistics statistics) {
+        updateIntellijModel(module.getProject(), Collections.singletonMap(module, dependencies), settings, statistics);
+    }
+
+    /**
+     * Updates the dependencies of all given modules in a single write action and a single commit.
+     * The changes are computed on the calling thread when it is not the event dispatch thread, with
+     * the settings the dependencies were resolved with.
+     * Once they are applied, the statistics of the run are reported in the console.
+     */
+    public static void updateIntellijModel(final Project project, final Map<Module, List<ResolvedDependency>> dependenciesByModule,
+                                           final ResolveSettings settings, final ResolveStatistics statistics) {
+        final Runnable whenApplied = () -> reportStatistics(project, statistics);
+        if (ApplicationManager.getApplication().isDispatchThread()) {
+            ApplicationManager.getApplication().executeOnPooledThread(() -> ModuleModelUpdater.updateDependencies(project, dependenciesByModule, settings, statistics, whenApplied));
+        } else {
+            ModuleModelUpdater.updateDependencies(project, dependenciesByModule, settings, statistics, whenApplied);
+        }
+    }
+
+    /**
+     * Prints a summary of the given statistics in the console, after any problems that are being reported,
+     * and keeps them for exporting.
+     */
+    public static void reportStatistics(final Project project, final ResolveStatistics statistics) {
+        statistics.finish();
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (project.isDisposed()) {
+                return;
+            }
+            final IvyIdeaConsoleService consoleService = IvyIdeaConsoleService.getInstance(project);
+            consoleService.setLastResolveStatistics(statistics);
+            consoleService.getConsoleView().print(statistics.formatSummary(), ConsoleViewContentType.SYSTEM_OUTPUT);
+        });
+    }
+
+    public static void clearConsole(final Project project) {
+        ApplicationManager.getApplication().invokeLater(() -> IntellijUtils.getConsoleView(project).clear());
+    }
+
+    public static void reportProblems(final Module module, final List<ResolveProblem> problems) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            final IvyIdeaFacetConfiguration ivyIdeaFacetConfiguration = IvyIdeaFacetConfiguration.getInstance(module);
+            if (ivyIdeaFacetConfiguration == null) {
+                throw new RuntimeException("Internal error: module " + module.getName() + " does not seem to be have an IvyIDEA facet, but was included in the resolve process anyway.");
+            }
+            final ConsoleView consoleView = IntellijUtils.getConsoleView(module.getProject());
+            String configsForModule;
+            if (ivyIdeaFacetConfiguration.isOnlyResolveSelectedConfigs()) {
+                final Set<String> configs = ivyIdeaFacetConfiguration.getConfigsToResolve();
+                if (configs == null || configs.size() == 0) {
+                    configsForModule = "[No configurations selected!]";
+                } else {
+                    configsForModule = configs.toString();
+                }
+            } else {
+                configsForModule = "[All configurations]";
+            }
+            if (problems.isEmpty()) {
+                consoleView.print("No problems detected during resolve for module '" + module.getName() + "' " + configsForModule + ".\n", ConsoleViewContentType.NORMAL_OUTPUT);
+            } else {
+                consoleView.print("Problems for module '" + module.getName() + " " + configsForModule + "':" + '\n', ConsoleViewContentType.NORMAL_OUTPUT);
+                for (ResolveProblem resolveProblem : problems) {
+                    consoleView.print("\t" + resolveProblem.toString() + '\n', ConsoleViewContentType.ERROR_OUTPUT);
+                }
+                // Make sure the tool window becomes visible if there were problems
+                IntellijUtils.getToolWindow(module.getProject()).show(null);
+            }
+        });
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij;
+
+import com.intellij.facet.Facet;
+import com.intellij.facet.FacetManager;
+import com.intellij.facet.FacetManagerListener;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.config.model.IvyIdeaProjectSettings;
+import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.ivy.IvyUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Knows which modules with an IvyIDEA facet depend on which local files: their ivy file, ivy
+ * settings file and properties files.
+ * <p>
+ * Determining these files touches the file system, so they are only determined again after a
+ * facet or module was added, removed or reconfigured, or the project settings that name such
+ * files changed.
+ */
+public class WatchedFilesIndex implements Disposable {
+
+    private final Project project;
+    private volatile Index index;
+
+    public WatchedFilesIndex(Project project) {
+        this.project = project;
+        final MessageBusConnection connection = project.getMessageBus().connect(this);
+        connection.subscribe(FacetManager.FACETS_TOPIC, new FacetManagerListener() {
+            @Override
+            public void facetAdded(@NotNull Facet facet) {
+                invalidate();
+            }
+
+            @Override
+            public void facetRemoved(@NotNull Facet facet) {
+                invalidate();
+            }
+
+            @Override
+            public void facetConfigurationChanged(@NotNull Facet facet) {
+                invalidate();
+            }
+        });
+        connection.subscribe(ModuleListener.TOPIC, new ModuleListener() {
+            @Override
+            public void moduleAdded(@NotNull Project project, @NotNull Module module) {
+                invalidate();
+            }
+
+            @Override
+            public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+                invalidate();
+            }
+        });
+    }
+
+    public static WatchedFilesIndex getInstance(Project project) {
+        return project.getService(WatchedFilesIndex.class);
+    }
+
+    /**
+     * Returns the modules that depend on any of the given files.
+     *
+     * @param paths system independent absolute paths
+     */
+    @NotNull
+    public Set<Module> getModulesWatching(@NotNull Collection<String> paths) {
+        final Map<String, Set<Module>> modulesByPath = getIndex().modulesByPath;
+        final Set<Module> modules = new LinkedHashSet<>();
+        for (String path : paths) {
+            final Set<Module> watchingModules = modulesByPath.get(path);
+            if (watchingModules != null) {
+                modules.addAll(watchingModules);
+            }
+        }
+        return modules;
+    }
+
+    public void invalidate() {
+        index = null;
+    }
+
+    private Index getIndex() {
+        final List<Object> projectKey = getProjectKey();
+        Index current = index;
+        if (current == null || !current.projectKey.equals(projectKey)) {
+            current = new Index(projectKey);
+            for (Module module : IntellijUtils.getAllModulesWithIvyIdeaFacet(project)) {
+                for (String watchedPath : getWatchedPaths(module)) {
+                    current.modulesByPath.computeIfAbsent(watchedPath, key -> new LinkedHashSet<>()).add(module);
+                }
+            }
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the project settings that determine the watched files, so changing them is noticed
+     * without reading any files.
+     */
+    private List<Object> getProjectKey() {
+        final IvyIdeaProjectSettings settings = project.getService(IvyIdeaProjectService.class).getState();
+        return Arrays.asList(settings.isUseCustomIvySettings(), settings.getIvySettingsFile(),
+                new ArrayList<>(settings.getPropertiesSettings().getPropertyFiles()));
+    }
+
+    private static Set<String> getWatchedPaths(Module module) {
+        final Set<String> paths = new HashSet<>();
+        addPath(paths, IvyUtil.getIvyFile(module));
+        try {
+            addPath(paths, IvyIdeaConfigHelper.getLocalSettingsFile(IvyIdeaConfigHelper.getIvySettingsFile(module)));
+        } catch (IvySettingsNotFoundException e) {
+            // nothing to watch; the resolve will report the problem when it runs
+        }
+        for (String propertiesFile : IvyIdeaConfigHelper.getPropertiesFiles(module)) {
+            if (propertiesFile != null) {
+                addPath(paths, new File(propertiesFile));
+            }
+        }
+        return paths;
+    }
+
+    private static void addPath(Set<String> paths, @Nullable File file) {
+        if (file != null) {
+            paths.add(FileUtil.toSystemIndependentName(file.getAbsolutePath()));
+        }
+    }
+
+    @Override
+    public void dispose() {
+        index = null;
+    }
+
+    private static class Index {
+        private final List<Object> projectKey;
+        private final Map<String, Set<Module>> modulesByPath = new HashMap<>();
+
+        private Index(List<Object> projectKey) {
+            this.projectKey = projectKey;
+        }
+    }
+}
@@ -19,23 +19,30 @@ package org.clarent.ivyidea.intellij.facet.ui;
 import com.intellij.facet.Facet;
 import com.intellij.facet.ui.FacetEditorContext;
 import com.intellij.facet.ui.FacetEditorTab;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.ui.DocumentAdapter;
 import com.intellij.ui.UserActivityListener;
 import com.intellij.ui.UserActivityWatcher;
+import com.intellij.util.Alarm;
 import org.apache.ivy.Ivy;
 import org.apache.ivy.core.module.descriptor.Configuration;
-import org.apache.ivy.core.settings.IvySettings;
 import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
 import org.clarent.ivyidea.intellij.facet.config.IvyIdeaFacetConfiguration;
 import org.clarent.ivyidea.intellij.facet.ui.components.ConfigurationSelectionTable;
 import org.clarent.ivyidea.intellij.facet.ui.components.ConfigurationSelectionTableModel;
+import org.clarent.ivyidea.ivy.IvyEngineCache;
 import org.clarent.ivyidea.ivy.IvyUtil;
+import org.clarent.ivyidea.ivy.ModuleDescriptorCache;
 import org.clarent.ivyidea.util.StringUtils;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
@@ -48,6 +55,7 @@ import javax.swing.event.DocumentEvent;
 import java.io.File;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -57,6 +65,8 @@ import java.util.logging.Logger;
 public class BasicSettingsTab extends FacetEditorTab {
 
     private static final Logger LOGGER = Logger.getLogger(BasicSettingsTab.class.getName());
+    private static final int RELOAD_DELAY_MILLIS = 300;
+    private static final String MESSAGE_SETTINGS_NOT_FOUND = "Could not find the settings file. Configure the settings file here or in the project settings first.";
 
     private com.intellij.openapi.ui.TextFieldWithBrowseButton txtIvyFile;
     private JPanel pnlRoot;
@@ -71,8 +81,11 @@ public class BasicSettingsTab extends FacetEditorTab {
     private final PropertiesSettingsTab propertiesSettingsTab;
     private boolean modified;
     private boolean foundConfigsBefore = false;
+    private final Disposable uiDisposable = Disposer.newDisposable();
+    private final Alarm reloadAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, uiDisposable);
+    private final AtomicInteger reloadRequest = new AtomicInteger();
 
-    private Set<Configuration> selectedConfigurations = new HashSet<Configuration>();
+    private Set<String> selectedConfigurationNames = new TreeSet<String>();
 
     public BasicSettingsTab(@NotNull FacetEditorContext editorContext, @NotNull PropertiesSettingsTab propertiesSettingsTab) {
         this.editorContext = editorContext;
@@ -140,48 +153,90 @@ public class BasicSettingsTab extends FacetEditorTab {
         reloadIvyFile();
     }
 
+    /**
+     * Reloads the configurations of the ivy file with the settings currently in the UI. They are
+     * loaded on a background thread shortly after the last change, so typing in the fields does not
+     * parse anything; the results of reloads that were superseded by a later change are dropped.
+     */
     public void reloadIvyFile() {
-        final Set<Configuration> allConfigurations;
+        final int request = reloadRequest.incrementAndGet();
+        reloadAlarm.cancelAllRequests();
+
+        final String ivyFileName = txtIvyFile.getText();
+        final String settingsFile;
         try {
-            allConfigurations = loadConfigurations();
-            chkOnlyResolveSpecificConfigs.setEnabled(allConfigurations != null);
-            if (allConfigurations != null) {
-                LOGGER.info("Detected configs in file " + txtIvyFile.getText() + ": " + allConfigurations.toString());
-                tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel(allConfigurations, getNames(selectedConfigurations)));
-                lblIvyFileMessage.setText("");
-                foundConfigsBefore = true;
-            } else {
-                File ivyFile = new File(txtIvyFile.getText());
-                if (ivyFile.isDirectory() || !ivyFile.exists()) {
-                    lblIvyFileMessage.setText("Please enter the name of an existing ivy file.");
-                } else {
-                    lblIvyFileMessage.setText("Warning: No configurations could be found in the given ivy file");
-                }
-                if (foundConfigsBefore) {
-                    selectedConfigurations = tblConfigurationSelection.getSelectedConfigurations();
-                }
-                tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel());
-                foundConfigsBefore = false;
-            }
-        } catch (ParseException e1) {
-            // TODO: provide link to error display dialog with full exception
-            lblIvyFileMessage.setText("Error parsing the file. If you use properties or specific ivy settings, configure those first.");
+            settingsFile = getIvySettingsFileNameForCurrentSettingsInUI();
         } catch (IvySettingsNotFoundException e) {
-            lblIvyFileMessage.setText("Could not find the settings file. Configure the settings file here or in the project settings first.");
-        } catch (IvySettingsFileReadException e) {
-            lblIvyFileMessage.setText("Error parsing the settings file. If you use properties, configure those first.");
+            showConfigurations(LoadedConfigurations.failed(MESSAGE_SETTINGS_NOT_FOUND));
+            return;
         }
+        final List<String> propertiesFiles = getPropertiesFilesForCurrentSettingsInUI();
+        final ModalityState modalityState = ModalityState.stateForComponent(pnlRoot);
+
+        reloadAlarm.addRequest(() -> {
+            if (request != reloadRequest.get()) {
+                return;
+            }
+            final LoadedConfigurations loadedConfigurations = loadConfigurations(ivyFileName, settingsFile, propertiesFiles);
+            ApplicationManager.getApplication().invokeLater(() -> {
+                if (request == reloadRequest.get()) {
+                    showConfigurations(loadedConfigurations);
+                }
+            }, modalityState);
+        }, RELOAD_DELAY_MILLIS);
     }
 
-    private Set<Configuration> loadConfigurations() throws IvySettingsNotFoundException, IvySettingsFileReadException, ParseException {
-        return IvyUtil.loadConfigurations(txtIvyFile.getText(), createIvyEngineForCurrentSettingsInUI());
+    private void showConfigurations(LoadedConfigurations loadedConfigurations) {
+        if (loadedConfigurations.errorMessage != null) {
+            lblIvyFileMessage.setText(loadedConfigurations.errorMessage);
+            return;
+        }
+        final Set<Configuration> allConfigurations = loadedConfigurations.configurations;
+        chkOnlyResolveSpecificConfigs.setEnabled(allConfigurations != null);
+        if (allConfigurations != null) {
+            LOGGER.info("Detected configs in file " + loadedConfigurations.ivyFileName + ": " + allConfigurations.toString());
+            if (foundConfigsBefore) {
+                selectedConfigurationNames = getNames(tblConfigurationSelection.getSelectedConfigurations());
+            }
+            tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel(allConfigurations, selectedConfigurationNames));
+            lblIvyFileMessage.setText("");
+            foundConfigsBefore = true;
+        } else {
+            lblIvyFileMessage.setText(loadedConfigurations.ivyFileExists
+                    ? "Warning: No configurations could be found in the given ivy file"
+                    : "Please enter the name of an existing ivy file.");
+            if (foundConfigsBefore) {
+                selectedConfigurationNames = getNames(tblConfigurationSelection.getSelectedConfigurations());
+            }
+            tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel());
+            foundConfigsBefore = false;
+        }
     }
 
+    /**
+     * Loads the configurations of the given ivy file; called on a background thread, so it must not touch the UI.
+     */
     @NotNull
-    private Ivy createIvyEngineForCurrentSettingsInUI() throws IvySettingsNotFoundException, IvySettingsFileReadException {
-        final Module module = this.editorContext.getModule();
-        final IvySettings ivySettings = IvyIdeaConfigHelper.createConfiguredIvySettings(module, this.getIvySettingsFileNameForCurrentSettingsInUI(), getPropertiesForCurrentSettingsInUI());
-        return IvyUtil.createConfiguredIvyEngine(module, ivySettings);
+    private LoadedConfigurations loadConfigurations(String ivyFileName, @Nullable String settingsFile, List<String> propertiesFiles) {
+        final Module module = editorContext.getModule();
+        final Project project = editorContext.getProject();
+        try {
+            final Ivy ivy = IvyEngineCache.getInstance(project).getIvy(module, settingsFile, propertiesFiles,
+                    IvyIdeaConfigHelper.loadProperties(module, propertiesFiles), new File(ivyFileName));
+            final Set<Configuration> configurations = IvyUtil.loadConfigurations(ivyFileName, ivy, ModuleDescriptorCache.getInstance(project));
+            final File ivyFile = new File(ivyFileName);
+            return new LoadedConfigurations(ivyFileName, configurations, ivyFile.exists() && !ivyFile.isDirectory(), null);
+        } catch (ParseException e) {
+            // TODO: provide link to error display dialog with full exception
+            return LoadedConfigurations.failed("Error parsing the file. If you use properties or specific ivy settings, configure those first.");
+        } catch (IvySettingsNotFoundException e) {
+            return LoadedConfigurations.failed(MESSAGE_SETTINGS_NOT_FOUND);
+        } catch (IvySettingsFileReadException e) {
+            return LoadedConfigurations.failed("Error parsing the settings file. If you use properties, configure those first.");
+        } catch (RuntimeException e) {
+            LOGGER.info("Unable to load the configurations of " + ivyFileName + ": " + e);
+            return LoadedConfigurations.failed("Error parsing the settings file. If you use properties, configure those first.");
+        }
     }
 
     @Nullable
@@ -196,7 +251,7 @@ public class BasicSettingsTab extends FacetEditorTab {
         return null;
     }
 
-    private Properties getPropertiesForCurrentSettingsInUI() throws IvySettingsNotFoundException, IvySettingsFileReadException {
+    private List<String> getPropertiesFilesForCurrentSettingsInUI() {
         final List<String> propertiesFiles = new ArrayList<String>(propertiesSettingsTab.getFileNames());
         // TODO: only include the project properties files if this option is chosen on the screen.
         //          for now this is not configurable yet - so it always is true
@@ -205,7 +260,7 @@ public class BasicSettingsTab extends FacetEditorTab {
         if (includeProjectProperties) {
             propertiesFiles.addAll(IvyIdeaConfigHelper.getPropertiesFiles(editorContext.getProject()));
         }
-        return IvyIdeaConfigHelper.loadProperties(editorContext.getModule(), propertiesFiles);
+        return propertiesFiles;
     }
 
     @Nls
@@ -229,7 +284,8 @@ public class BasicSettingsTab extends FacetEditorTab {
             configuration.setUseCustomIvySettings(rbnUseCustomIvySettings.isSelected());
             configuration.setIvySettingsFile(txtIvySettingsFile.getText());
             configuration.setOnlyResolveSelectedConfigs(chkOnlyResolveSpecificConfigs.isSelected());
-            configuration.setConfigsToResolve(getNames(tblConfigurationSelection.getSelectedConfigurations()));
+            // while the configurations of a changed ivy file are not loaded yet, keep the selection
+            configuration.setConfigsToResolve(foundConfigsBefore ? getNames(tblConfigurationSelection.getSelectedConfigurations()) : selectedConfigurationNames);
             configuration.setIvyFile(txtIvyFile.getText());
         }
     }
@@ -253,27 +309,14 @@ public class BasicSettingsTab extends FacetEditorTab {
             chkOnlyResolveSpecificConfigs.setSelected(configuration.isOnlyResolveSelectedConfigs());
             rbnUseCustomIvySettings.setSelected(configuration.isUseCustomIvySettings());
             rbnUseDefaultIvySettings.setSelected(!configuration.isUseCustomIvySettings());
-            Set<Configuration> allConfigurations;
-            try {
-                allConfigurations = loadConfigurations();
-            } catch (ParseException e) {
-                allConfigurations = null;
-            } catch ( IvySettingsNotFoundException e ) {
-                allConfigurations = null;
-            } catch ( IvySettingsFileReadException e ) {
-                allConfigurations = null;
-            }
-            if (StringUtils.isNotBlank(configuration.getIvyFile())) {
-                if (allConfigurations != null) {
-                    tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel(allConfigurations, configuration.getConfigsToResolve()));
-                } else {
-                    tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel());
-                }
-                selectedConfigurations = tblConfigurationSelection.getSelectedConfigurations();
+            // the configurations are filled in once they are loaded
+            tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel());
+            foundConfigsBefore = false;
+            if (StringUtils.isNotBlank(configuration.getIvyFile()) && configuration.getConfigsToResolve() != null) {
+                selectedConfigurationNames = new TreeSet<String>(configuration.getConfigsToResolve());
                 updateConfigurationsTable();
             } else {
-                tblConfigurationSelection.setModel(new ConfigurationSelectionTableModel());
-                selectedConfigurations = new HashSet<Configuration>();
+                selectedConfigurationNames = new TreeSet<String>();
                 tblConfigurationSelection.setEditable(false);
             }
             updateUI();
@@ -281,6 +324,26 @@ public class BasicSettingsTab extends FacetEditorTab {
     }
 
     public void disposeUIResources() {
+        reloadRequest.incrementAndGet();
+        Disposer.dispose(uiDisposable);
+    }
+
+    private static class LoadedConfigurations {
+        private final String ivyFileName;
+        private final Set<Configuration> configurations;
+        private final boolean ivyFileExists;
+        private final String errorMessage;
+
+        private LoadedConfigurations(String ivyFileName, @Nullable Set<Configuration> configurations, boolean ivyFileExists, @Nullable String errorMessage) {
+            this.ivyFileName = ivyFileName;
+            this.configurations = configurations;
+            this.ivyFileExists = ivyFileExists;
+            this.errorMessage = errorMessage;
+        }
+
+        private static LoadedConfigurations failed(String errorMessage) {
+            return new LoadedConfigurations(null, null, false, errorMessage);
+        }
     }
 
     private void createUIComponents() {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij.model;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
+import org.clarent.ivyidea.resolve.dependency.InternalDependency;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.clarent.ivyidea.util.Fingerprint;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Remembers a fingerprint of the dependencies that were last applied to each module, so applying
+ * the same dependencies again can be skipped without opening the models of the module.
+ * <p>
+ * A fingerprint is only trusted as long as the roots of the project did not change since it was
+ * recorded; any change, also one made by the user, makes the next update compare the models again.
+ */
+public class AppliedDependencies {
+
+    private final Project project;
+    private final Map<Module, AppliedState> appliedStates = new WeakHashMap<>();
+
+    public AppliedDependencies(Project project) {
+        this.project = project;
+    }
+
+    public static AppliedDependencies getInstance(Project project) {
+        return project.getService(AppliedDependencies.class);
+    }
+
+    /**
+     * Tells whether the dependencies with the given fingerprint are exactly what was last applied
+     * to the given module, and the roots of the project did not change since.
+     */
+    public synchronized boolean isUpToDate(@NotNull Module module, @NotNull String fingerprint) {
+        final AppliedState appliedState = appliedStates.get(module);
+        return appliedState != null
+                && appliedState.fingerprint.equals(fingerprint)
+                && appliedState.rootsModificationCount == getRootsModificationCount();
+    }
+
+    /**
+     * Records the fingerprints of the dependencies the given modules now have.
+     */
+    public synchronized void record(@NotNull Map<Module, String> fingerprints) {
+        final long rootsModificationCount = getRootsModificationCount();
+        for (Map.Entry<Module, String> entry : fingerprints.entrySet()) {
+            appliedStates.put(entry.getKey(), new AppliedState(entry.getValue(), rootsModificationCount));
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the given dependencies, as they are added with the given settings,
+     * that does not depend on their order.
+     */
+    @NotNull
+    public String computeFingerprint(@NotNull Collection<ResolvedDependency> dependencies, @NotNull ResolveSettings settings) {
+        final List<String> entries = new ArrayList<>(dependencies.size());
+        for (ResolvedDependency dependency : dependencies) {
+            if (dependency instanceof InternalDependency) {
+                entries.add("module:" + ((InternalDependency) dependency).getModule().getName());
+            } else if (dependency instanceof ExternalDependency) {
+                final ExternalDependency externalDependency = (ExternalDependency) dependency;
+                final String path = externalDependency.getLocalFile() == null ? "" : LibraryModels.getRootKey(externalDependency.getLocalFile());
+                entries.add(externalDependency.getConfigurationName() + ':' + externalDependency.getType().name() + ':' + path
+                        + ':' + (externalDependency.isMissing() ? "missing" : "present"));
+            }
+        }
+        Collections.sort(entries);
+
+        final Fingerprint fingerprint = new Fingerprint()
+                .add(settings.isLibraryNameIncludesModule())
+                .add(settings.isLibraryNameIncludesConfiguration());
+        for (String entry : entries) {
+            fingerprint.add(entry);
+        }
+        return fingerprint.toString();
+    }
+
+    private long getRootsModificationCount() {
+        return ProjectRootManager.getInstance(project).getModificationCount();
+    }
+
+    private static class AppliedState {
+        private final String fingerprint;
+        private final long rootsModificationCount;
+
+        private AppliedState(String fingerprint, long rootsModificationCount) {
+            this.fingerprint = fingerprint;
+            this.rootsModificationCount = rootsModificationCount;
+        }
+    }
+}
@@ -19,26 +19,36 @@ package org.clarent.ivyidea.intellij.model;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.roots.ModifiableRootModel;
 import com.intellij.openapi.roots.ModuleRootManager;
-import com.intellij.openapi.roots.OrderRootType;
 import com.intellij.openapi.roots.libraries.Library;
-import com.intellij.openapi.roots.libraries.Library.ModifiableModel;
 import com.intellij.openapi.roots.libraries.LibraryTable;
 import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.config.ResolveSettings;
 import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
 import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
 
-import java.util.*;
+import java.util.Collection;
 
 public class IntellijModuleWrapper implements AutoCloseable {
 
     private final ModifiableRootModel intellijModule;
+    private final ResolveSettings settings;
     private final LibraryModels libraryModels;
 
+    /**
+     * Wraps the given module, naming the libraries after the current project settings.
+     */
     public static IntellijModuleWrapper forModule(Module module) {
+        return forModule(module, IvyIdeaConfigHelper.createResolveSettings(module.getProject()));
+    }
+
+    /**
+     * Wraps the given module, naming the libraries after the given settings of a resolve run.
+     */
+    public static IntellijModuleWrapper forModule(Module module, ResolveSettings settings) {
         ModifiableRootModel modifiableModel = null;
         try {
             modifiableModel = ModuleRootManager.getInstance(module).getModifiableModel();
-            return new IntellijModuleWrapper(modifiableModel);
+            return new IntellijModuleWrapper(modifiableModel, settings);
         } catch (RuntimeException e) {
             if (modifiableModel != null) {
                 modifiableModel.dispose();
@@ -47,16 +57,15 @@ public class IntellijModuleWrapper implements AutoCloseable {
         }
     }
 
-    private IntellijModuleWrapper(ModifiableRootModel intellijModule) {
+    private IntellijModuleWrapper(ModifiableRootModel intellijModule, ResolveSettings settings) {
         this.intellijModule = intellijModule;
-        this.libraryModels = new LibraryModels(intellijModule);
+        this.settings = settings;
+        this.libraryModels = new LibraryModels(intellijModule, settings);
     }
 
     public void updateDependencies(Collection<ResolvedDependency> resolvedDependencies) {
-        for (ResolvedDependency resolvedDependency : resolvedDependencies) {
-            resolvedDependency.addTo(this);
-        }
-        removeDependenciesNotInList(resolvedDependencies);
+        ModuleChanges.compute(intellijModule, resolvedDependencies, settings).applyTo(this);
+        ModuleModelUpdater.registerLazyAttachDependencies(getModule(), resolvedDependencies);
     }
 
     public void close() {
@@ -68,6 +77,10 @@ public class IntellijModuleWrapper implements AutoCloseable {
         }
     }
 
+    public Module getModule() {
+        return intellijModule.getModule();
+    }
+
     public String getModuleName() {
         return intellijModule.getModule().getName();
     }
@@ -77,8 +90,7 @@ public class IntellijModuleWrapper implements AutoCloseable {
     }
 
     public void addExternalDependency(ExternalDependency externalDependency) {
-        ModifiableModel libraryModel = libraryModels.getForExternalDependency(externalDependency);
-        libraryModel.addRoot(externalDependency.getUrlForLibraryRoot(), externalDependency.getType());
+        libraryModels.addRoot(externalDependency);
     }
 
     public boolean alreadyHasDependencyOnModule(Module module) {
@@ -92,58 +104,22 @@ public class IntellijModuleWrapper implements AutoCloseable {
     }
 
     public boolean alreadyHasDependencyOnLibrary(ExternalDependency externalDependency) {
-        ModifiableModel libraryModel = libraryModels.getForExternalDependency(externalDependency);
-        for (String url : libraryModel.getUrls(externalDependency.getType())) {
-            if (externalDependency.isSameDependency(url)) {
-                return true;
-            }
-        }
-        return false;
+        return libraryModels.hasRoot(externalDependency);
     }
 
-    public void removeDependenciesNotInList(Collection<ResolvedDependency> dependenciesToKeep) {
-        for (OrderRootType type : OrderRootType.getAllTypes()) {
-            List<String> dependenciesToRemove = getDependenciesToRemove(type, dependenciesToKeep);
-            for (String dependencyUrl : dependenciesToRemove) {
-                libraryModels.removeDependency(type, dependencyUrl);
-            }
-        }
-
-        // remove resolved libraries that are no longer used
-        Set<String> librariesInUse = new HashSet<String>();
-        for (ResolvedDependency dependency : dependenciesToKeep) {
-            if (dependency instanceof ExternalDependency) {
-                ExternalDependency externalDependency = (ExternalDependency) dependency;
-                String library = IvyIdeaConfigHelper.getCreatedLibraryName(intellijModule, externalDependency.getConfigurationName());
-                librariesInUse.add(library);
-            }
-        }
-
+    void removeLibrary(String libraryName) {
         final LibraryTable libraryTable = intellijModule.getModuleLibraryTable();
-        for (Library library : libraryTable.getLibraries()) {
-            final String libraryName = library.getName();
-            if (IvyIdeaConfigHelper.isCreatedLibraryName(libraryName) && !librariesInUse.contains(libraryName)) {
-                libraryTable.removeLibrary(library);
-            }
+        final Library library = libraryTable.getLibraryByName(libraryName);
+        if (library != null) {
+            libraryTable.removeLibrary(library);
         }
     }
 
-    private List<String> getDependenciesToRemove(OrderRootType type, Collection<ResolvedDependency> resolvedDependencies) {
-        final List<String> intellijDependencies = libraryModels.getIntellijDependencyUrlsForType(type);
-        final List<String> dependenciesToRemove = new ArrayList<String>(intellijDependencies); // add all dependencies initially
-        for (String intellijDependency : intellijDependencies) {
-            for (ResolvedDependency resolvedDependency : resolvedDependencies) {
-                // TODO: We don't touch module to module dependencies here because we currently can't determine if
-                //          they were added by IvyIDEA or by the user
-                if (resolvedDependency instanceof ExternalDependency) {
-                    ExternalDependency externalDependency = (ExternalDependency) resolvedDependency;
-                    if (externalDependency.isSameDependency(intellijDependency)) {
-                        dependenciesToRemove.remove(intellijDependency); // remove existing ones
-                    }
-                }
-            }
-        }
-        return dependenciesToRemove;
+    LibraryModels getLibraryModels() {
+        return libraryModels;
     }
 
+    ModifiableRootModel getModifiableModel() {
+        return intellijModule;
+    }
 }
@@ -16,44 +16,72 @@
 
 package org.clarent.ivyidea.intellij.model;
 
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.roots.ModifiableRootModel;
 import com.intellij.openapi.roots.OrderRootType;
 import com.intellij.openapi.roots.libraries.Library;
 import com.intellij.openapi.roots.libraries.LibraryTable;
 import com.intellij.openapi.util.Disposer;
-import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.util.PathUtil;
+import org.clarent.ivyidea.config.ResolveSettings;
 import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
 
 import java.io.Closeable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.io.File;
+import java.util.*;
 import java.util.logging.Logger;
 
-import static java.util.Arrays.asList;
 import static org.clarent.ivyidea.util.StringUtils.isBlank;
 
+/**
+ * The IvyIDEA libraries of a module that are being modified.
+ * <p>
+ * The roots of every library are indexed by their normalized path the first time they are
+ * looked at, so checking whether a dependency is present does not compare it with every root.
+ */
 class LibraryModels implements Closeable {
 
     private static final Logger LOGGER = Logger.getLogger(LibraryModels.class.getName());    
 
-    private final ConcurrentMap<String, Library.ModifiableModel> libraryModels = new ConcurrentHashMap<String, Library.ModifiableModel>();
+    private final Map<String, LibraryModel> libraryModels = new LinkedHashMap<>();
 
     private ModifiableRootModel intellijModule;
+    private final ResolveSettings settings;
 
-    LibraryModels(ModifiableRootModel intellijModule) {
+    LibraryModels(ModifiableRootModel intellijModule, ResolveSettings settings) {
         this.intellijModule = intellijModule;
+        this.settings = settings;
     }
 
-    public Library.ModifiableModel getForExternalDependency(final ExternalDependency externalDependency) {
+    static String getLibraryName(final ResolveSettings settings, final Module module, final ExternalDependency externalDependency) {
         String resolvedConfiguration = externalDependency.getConfigurationName();
-        return getForConfiguration(isBlank(resolvedConfiguration) ? "default" : resolvedConfiguration);
+        return settings.getCreatedLibraryName(module, isBlank(resolvedConfiguration) ? "default" : resolvedConfiguration);
+    }
+
+    public boolean hasRoot(final ExternalDependency externalDependency) {
+        return getForLibrary(getLibraryName(settings, intellijModule.getModule(), externalDependency)).getRoots(externalDependency.getType()).containsKey(getRootKey(externalDependency.getLocalFile()));
+    }
+
+    public void addRoot(final ExternalDependency externalDependency) {
+        addRoot(getLibraryName(settings, intellijModule.getModule(), externalDependency), externalDependency.getType(), externalDependency.getUrlForLibraryRoot());
+    }
+
+    public void addRoot(final String libraryName, final OrderRootType type, final String url) {
+        final LibraryModel libraryModel = getForLibrary(libraryName);
+        libraryModel.model.addRoot(url, type);
+        libraryModel.getRoots(type).put(getRootKey(PathUtil.toPresentableUrl(url)), url);
+    }
+
+    public void removeRoot(final String libraryName, final OrderRootType type, final String url) {
+        final LibraryModel libraryModel = getForLibrary(libraryName);
+        libraryModel.model.removeRoot(url, type);
+        libraryModel.getRoots(type).remove(getRootKey(PathUtil.toPresentableUrl(url)));
     }
 
-    private Library.ModifiableModel getForConfiguration(String ivyConfiguration) {
-        final String libraryName = IvyIdeaConfigHelper.getCreatedLibraryName(intellijModule, ivyConfiguration);
-        return libraryModels.computeIfAbsent(libraryName, _libraryName -> getIvyIdeaLibrary(intellijModule, libraryName).getModifiableModel());
+    private LibraryModel getForLibrary(String libraryName) {
+        return libraryModels.computeIfAbsent(libraryName, _libraryName -> new LibraryModel(getIvyIdeaLibrary(intellijModule, libraryName).getModifiableModel()));
     }
 
     private Library getIvyIdeaLibrary(ModifiableRootModel modifiableRootModel, final String libraryName) {
@@ -66,29 +94,48 @@ class LibraryModels implements Closeable {
         return library;
     }
 
-    public void removeDependency(OrderRootType type, String dependencyUrl) {
-        LOGGER.info("Removing no longer needed dependency of type " + type + ": " + dependencyUrl);
-        for (Library.ModifiableModel libraryModel : libraryModels.values()) {
-            libraryModel.removeRoot(dependencyUrl, type);
-        }
+    /**
+     * Returns the key under which a library root for the given file is indexed; paths that
+     * refer to the same file give the same key.
+     */
+    static String getRootKey(File file) {
+        return getRootKey(file.getAbsolutePath());
     }
 
-    public List<String> getIntellijDependencyUrlsForType(OrderRootType type) {
-        final List<String> intellijDependencies = new ArrayList<String>();
-        for (final Library.ModifiableModel libraryModel : libraryModels.values()) {
-            final String[] libraryModelUrls = libraryModel.getUrls(type);
-            intellijDependencies.addAll(asList(libraryModelUrls));
-        }
-        return intellijDependencies;
+    static String getRootKey(String path) {
+        final String canonicalPath = FileUtil.toCanonicalPath(FileUtil.toSystemIndependentName(path));
+        return SystemInfo.isFileSystemCaseSensitive ? canonicalPath : canonicalPath.toLowerCase(Locale.ROOT);
     }
 
     public void close() {
-        for (Library.ModifiableModel libraryModel : libraryModels.values()) {
-            if (libraryModel.isChanged()) {
-                libraryModel.commit();
+        for (LibraryModel libraryModel : libraryModels.values()) {
+            if (libraryModel.model.isChanged()) {
+                libraryModel.model.commit();
             } else {
-                Disposer.dispose(libraryModel);
+                Disposer.dispose(libraryModel.model);
             }
         }
     }
+
+    private static class LibraryModel {
+        private final Library.ModifiableModel model;
+        private final Map<OrderRootType, Map<String, String>> rootsByType = new HashMap<>();
+
+        private LibraryModel(Library.ModifiableModel model) {
+            this.model = model;
+        }
+
+        /**
+         * Returns the urls of the roots of the given type, by their key.
+         */
+        private Map<String, String> getRoots(OrderRootType type) {
+            return rootsByType.computeIfAbsent(type, _type -> {
+                final Map<String, String> roots = new LinkedHashMap<>();
+                for (String url : model.getUrls(type)) {
+                    roots.putIfAbsent(getRootKey(PathUtil.toPresentableUrl(url)), url);
+                }
+                return roots;
+            });
+        }
+    }
 }
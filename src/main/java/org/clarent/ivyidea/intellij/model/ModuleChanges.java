@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij.model;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.roots.LibraryOrderEntry;
+import com.intellij.openapi.roots.ModuleRootModel;
+import com.intellij.openapi.roots.OrderEntry;
+import com.intellij.openapi.roots.OrderRootType;
+import com.intellij.openapi.roots.libraries.Library;
+import com.intellij.util.PathUtil;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
+import org.clarent.ivyidea.resolve.dependency.InternalDependency;
+import org.clarent.ivyidea.resolve.dependency.LazyAttachDependency;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * The changes needed to give a module exactly the resolved dependencies.
+ * <p>
+ * The changes are computed from a read-only view of the module, so this can be done in a read
+ * action on a background thread; applying them to the modifiable model of the module afterwards
+ * only adds and removes the roots and libraries that differ.
+ */
+class ModuleChanges {
+
+    private static final Logger LOGGER = Logger.getLogger(ModuleChanges.class.getName());
+
+    private final Module module;
+    private final List<Module> moduleDependenciesToAdd = new ArrayList<>();
+    private final List<RootChange> rootsToAdd = new ArrayList<>();
+    private final List<RootChange> rootsToRemove = new ArrayList<>();
+    private final List<String> librariesToRemove = new ArrayList<>();
+
+    private ModuleChanges(Module module) {
+        this.module = module;
+    }
+
+    /**
+     * Computes the changes needed to turn the dependencies of the given module model into the resolved ones,
+     * with the library names of the given settings.
+     */
+    @NotNull
+    static ModuleChanges compute(@NotNull ModuleRootModel rootModel, @NotNull Collection<ResolvedDependency> resolvedDependencies,
+                                 @NotNull ResolveSettings settings) {
+        final ModuleChanges changes = new ModuleChanges(rootModel.getModule());
+
+        final Set<String> existingModuleDependencies = new HashSet<>();
+        for (Module existingDependency : rootModel.getModuleDependencies()) {
+            existingModuleDependencies.add(existingDependency.getName());
+        }
+
+        // the roots the IvyIDEA libraries should have, by library name and root type
+        final Map<String, Map<OrderRootType, Map<String, String>>> wantedRoots = new LinkedHashMap<>();
+        for (ResolvedDependency dependency : resolvedDependencies) {
+            if (dependency instanceof InternalDependency) {
+                final Module moduleDependency = ((InternalDependency) dependency).getModule();
+                if (existingModuleDependencies.add(moduleDependency.getName())) {
+                    LOGGER.info("Registering module dependency from " + changes.module.getName() + " on module " + moduleDependency.getName());
+                    changes.moduleDependenciesToAdd.add(moduleDependency);
+                }
+            } else if (dependency instanceof ExternalDependency) {
+                final ExternalDependency externalDependency = (ExternalDependency) dependency;
+                final Map<String, String> libraryRoots = wantedRoots
+                        .computeIfAbsent(LibraryModels.getLibraryName(settings, changes.module, externalDependency), library -> new HashMap<>())
+                        .computeIfAbsent(externalDependency.getType(), type -> new LinkedHashMap<>());
+                if (isAvailable(externalDependency)) {
+                    libraryRoots.put(LibraryModels.getRootKey(externalDependency.getLocalFile()), externalDependency.getUrlForLibraryRoot());
+                }
+            }
+        }
+
+        final Map<String, Library> existingLibraries = new HashMap<>();
+        for (OrderEntry orderEntry : rootModel.getOrderEntries()) {
+            if (orderEntry instanceof LibraryOrderEntry && ((LibraryOrderEntry) orderEntry).isModuleLevel()) {
+                final Library library = ((LibraryOrderEntry) orderEntry).getLibrary();
+                if (library != null && IvyIdeaConfigHelper.isCreatedLibraryName(library.getName())) {
+                    existingLibraries.put(library.getName(), library);
+                }
+            }
+        }
+
+        for (Map.Entry<String, Map<OrderRootType, Map<String, String>>> entry : wantedRoots.entrySet()) {
+            final Library library = existingLibraries.get(entry.getKey());
+            for (OrderRootType type : OrderRootType.getAllTypes()) {
+                final List<String> urlsToAdd = new ArrayList<>();
+                final List<String> urlsToRemove = new ArrayList<>();
+                diffRoots(entry.getValue().getOrDefault(type, Collections.emptyMap()),
+                        library == null ? new String[0] : library.getUrls(type), urlsToAdd, urlsToRemove);
+                for (String url : urlsToAdd) {
+                    changes.rootsToAdd.add(new RootChange(entry.getKey(), type, url));
+                }
+                for (String url : urlsToRemove) {
+                    changes.rootsToRemove.add(new RootChange(entry.getKey(), type, url));
+                }
+            }
+        }
+
+        // remove resolved libraries that are no longer used
+        for (String libraryName : existingLibraries.keySet()) {
+            if (!wantedRoots.containsKey(libraryName)) {
+                changes.librariesToRemove.add(libraryName);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Compares the roots a library should have, by their {@link LibraryModels#getRootKey root key},
+     * with the urls it has, and collects the urls to add and to remove.
+     */
+    static void diffRoots(Map<String, String> wantedRoots, String[] existingUrls, List<String> urlsToAdd, List<String> urlsToRemove) {
+        final Map<String, String> existingRoots = new LinkedHashMap<>();
+        for (String url : existingUrls) {
+            existingRoots.putIfAbsent(LibraryModels.getRootKey(PathUtil.toPresentableUrl(url)), url);
+        }
+        for (Map.Entry<String, String> root : wantedRoots.entrySet()) {
+            if (!existingRoots.containsKey(root.getKey())) {
+                urlsToAdd.add(root.getValue());
+            }
+        }
+        for (Map.Entry<String, String> root : existingRoots.entrySet()) {
+            if (!wantedRoots.containsKey(root.getKey())) {
+                urlsToRemove.add(root.getValue());
+            }
+        }
+    }
+
+    private static boolean isAvailable(ExternalDependency externalDependency) {
+        if (externalDependency instanceof LazyAttachDependency && !((LazyAttachDependency) externalDependency).isDownloaded()) {
+            return false;
+        }
+        if (externalDependency.getLocalFile() == null) {
+            LOGGER.warning("Not registering external dependency for module " + externalDependency.getArtifact().getModuleRevisionId() + " as the file does not seem to exist.");
+            return false;
+        }
+        if (externalDependency.isMissing()) {
+            LOGGER.warning("Not registering external file dependency as the file does not seem to exist: " + externalDependency.getLocalFile().getAbsolutePath());
+            return false;
+        }
+        return true;
+    }
+
+    Module getModule() {
+        return module;
+    }
+
+    boolean isEmpty() {
+        return moduleDependenciesToAdd.isEmpty() && rootsToAdd.isEmpty() && rootsToRemove.isEmpty() && librariesToRemove.isEmpty();
+    }
+
+    /**
+     * Applies the changes to the modifiable model of the module.
+     */
+    void applyTo(@NotNull IntellijModuleWrapper moduleWrapper) {
+        for (Module moduleDependency : moduleDependenciesToAdd) {
+            moduleWrapper.addModuleDependency(moduleDependency);
+        }
+        for (RootChange root : rootsToAdd) {
+            LOGGER.info("Registering external " + root.type.name() + " dependency: " + root.url);
+            moduleWrapper.getLibraryModels().addRoot(root.libraryName, root.type, root.url);
+        }
+        for (RootChange root : rootsToRemove) {
+            LOGGER.info("Removing no longer needed dependency of type " + root.type.name() + ": " + root.url);
+            moduleWrapper.getLibraryModels().removeRoot(root.libraryName, root.type, root.url);
+        }
+        for (String libraryName : librariesToRemove) {
+            moduleWrapper.removeLibrary(libraryName);
+        }
+    }
+
+    private static class RootChange {
+        private final String libraryName;
+        private final OrderRootType type;
+        private final String url;
+
+        private RootChange(String libraryName, OrderRootType type, String url) {
+            this.libraryName = libraryName;
+            this.type = type;
+            this.url = url;
+        }
+    }
+}
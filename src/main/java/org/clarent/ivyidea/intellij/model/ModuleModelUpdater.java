@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij.model;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModifiableRootModel;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.roots.impl.ModifiableModelCommitter;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.intellij.LazyAttachService;
+import org.clarent.ivyidea.resolve.ResolveStatistics;
+import org.clarent.ivyidea.resolve.dependency.LazyAttachDependency;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Applies resolved dependencies to the modules of a project while keeping the event dispatch
+ * thread free as much as possible.
+ * <p>
+ * The changes are computed on the calling thread, in a short read action per module, so pending
+ * write actions don't have to wait for all modules to be processed. Only applying them happens
+ * in a write action, where all changed modules are committed at once, so the IDE handles a single
+ * roots change; when nothing changed, nothing is committed at all. When the project roots were
+ * modified between both steps, the changes are computed again. Modules that get the same
+ * dependencies as last time are skipped entirely, see {@link AppliedDependencies}.
+ */
+public class ModuleModelUpdater {
+
+    private static final Logger LOGGER = Logger.getLogger(ModuleModelUpdater.class.getName());
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Updates the dependencies of the given modules, recording the time spent per module in the
+     * given statistics. Can be called from any thread; call it from a background thread to keep
+     * the computation of the changes off the event dispatch thread.
+     *
+     * @param settings the settings of the resolve run, which determine the names of the libraries
+     * @param whenApplied called on the event dispatch thread once the changes are committed, if any
+     */
+    public static void updateDependencies(@NotNull Project project, @NotNull Map<Module, ? extends Collection<ResolvedDependency>> dependenciesByModule,
+                                          @NotNull ResolveSettings settings, @NotNull ResolveStatistics statistics, @Nullable Runnable whenApplied) {
+        computeAndApply(project, dependenciesByModule, settings, statistics, whenApplied, 1);
+    }
+
+    private static void computeAndApply(Project project, Map<Module, ? extends Collection<ResolvedDependency>> dependenciesByModule,
+                                        ResolveSettings settings, ResolveStatistics statistics, Runnable whenApplied, int attempt) {
+        final PreparedChanges preparedChanges = prepare(project, dependenciesByModule, settings, statistics);
+        if (preparedChanges == null) {
+            return;
+        }
+
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (project.isDisposed()) {
+                return;
+            }
+            final boolean rootsChanged = preparedChanges.rootsModificationCount != getRootsModificationCount(project);
+            if (rootsChanged && attempt < MAX_ATTEMPTS) {
+                LOGGER.info("Project roots changed while computing the dependency changes; computing them again");
+                ApplicationManager.getApplication().executeOnPooledThread(() -> computeAndApply(project, dependenciesByModule, settings, statistics, whenApplied, attempt + 1));
+                return;
+            }
+
+            if (!rootsChanged) {
+                ApplicationManager.getApplication().runWriteAction(() -> apply(project, preparedChanges, settings, statistics));
+            } else {
+                // keep giving up the event dispatch thread would never finish while the roots keep changing
+                ApplicationManager.getApplication().runWriteAction(() -> {
+                    final PreparedChanges changes = prepare(project, dependenciesByModule, settings, statistics);
+                    if (changes != null) {
+                        apply(project, changes, settings, statistics);
+                    }
+                });
+            }
+            if (whenApplied != null) {
+                whenApplied.run();
+            }
+        });
+    }
+
+    private static PreparedChanges prepare(Project project, Map<Module, ? extends Collection<ResolvedDependency>> dependenciesByModule,
+                                           ResolveSettings settings, ResolveStatistics statistics) {
+        if (project.isDisposed()) {
+            return null;
+        }
+        final AppliedDependencies appliedDependencies = AppliedDependencies.getInstance(project);
+        // taken before the first module is read: a roots change in between the read actions is detected when applying
+        final PreparedChanges preparedChanges = new PreparedChanges(ReadAction.compute(() -> getRootsModificationCount(project)));
+        for (Map.Entry<Module, ? extends Collection<ResolvedDependency>> entry : dependenciesByModule.entrySet()) {
+            final Module module = entry.getKey();
+            if (module.isDisposed()) {
+                continue;
+            }
+            final long start = System.nanoTime();
+            registerLazyAttachDependencies(module, entry.getValue());
+
+            final String fingerprint = appliedDependencies.computeFingerprint(entry.getValue(), settings);
+            preparedChanges.fingerprints.put(module, fingerprint);
+            if (!appliedDependencies.isUpToDate(module, fingerprint)) {
+                final ModuleChanges changes = ReadAction.compute(() -> module.isDisposed()
+                        ? null : ModuleChanges.compute(ModuleRootManager.getInstance(module), entry.getValue(), settings));
+                if (changes != null && !changes.isEmpty()) {
+                    preparedChanges.changes.add(changes);
+                }
+            }
+            statistics.addTime(module.getName(), ResolveStatistics.Phase.MODEL_UPDATE, System.nanoTime() - start);
+        }
+        return preparedChanges;
+    }
+
+    private static void apply(Project project, PreparedChanges preparedChanges, ResolveSettings settings, ResolveStatistics statistics) {
+        final List<ModifiableRootModel> changedModels = new ArrayList<>();
+        try {
+            for (ModuleChanges changes : preparedChanges.changes) {
+                if (changes.getModule().isDisposed()) {
+                    continue;
+                }
+                final long start = System.nanoTime();
+                final IntellijModuleWrapper moduleWrapper = IntellijModuleWrapper.forModule(changes.getModule(), settings);
+                final ModifiableRootModel modifiableModel = moduleWrapper.getModifiableModel();
+                try {
+                    changes.applyTo(moduleWrapper);
+                    moduleWrapper.getLibraryModels().close();
+                } catch (RuntimeException e) {
+                    modifiableModel.dispose();
+                    throw e;
+                }
+                if (modifiableModel.isChanged()) {
+                    changedModels.add(modifiableModel);
+                } else {
+                    modifiableModel.dispose();
+                }
+                statistics.addTime(changes.getModule().getName(), ResolveStatistics.Phase.MODEL_UPDATE, System.nanoTime() - start);
+            }
+        } catch (RuntimeException e) {
+            for (ModifiableRootModel changedModel : changedModels) {
+                changedModel.dispose();
+            }
+            throw e;
+        }
+
+        if (!changedModels.isEmpty()) {
+            ModifiableModelCommitter.multiCommit(changedModels.toArray(new ModifiableRootModel[0]), ModuleManager.getInstance(project).getModifiableModel());
+        }
+        AppliedDependencies.getInstance(project).record(preparedChanges.fingerprints);
+    }
+
+    /**
+     * Registers the lazily attached artifacts that are not downloaded yet with the {@link LazyAttachService},
+     * in place of the ones registered by the previous resolve of the module.
+     */
+    static void registerLazyAttachDependencies(Module module, Collection<ResolvedDependency> dependencies) {
+        final List<LazyAttachDependency> lazyAttachDependencies = new ArrayList<>();
+        for (ResolvedDependency dependency : dependencies) {
+            if (dependency instanceof LazyAttachDependency && !((LazyAttachDependency) dependency).isDownloaded()) {
+                lazyAttachDependencies.add((LazyAttachDependency) dependency);
+            }
+        }
+        LazyAttachService.getInstance(module.getProject()).replace(module, lazyAttachDependencies);
+    }
+
+    private static long getRootsModificationCount(Project project) {
+        return ProjectRootManager.getInstance(project).getModificationCount();
+    }
+
+    private static class PreparedChanges {
+        private final long rootsModificationCount;
+        private final List<ModuleChanges> changes = new ArrayList<>();
+        private final Map<Module, String> fingerprints = new HashMap<>();
+
+        private PreparedChanges(long rootsModificationCount) {
+            this.rootsModificationCount = rootsModificationCount;
+        }
+    }
+}
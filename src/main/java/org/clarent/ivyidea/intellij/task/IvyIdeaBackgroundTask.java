@@ -52,4 +52,8 @@ public abstract class IvyIdeaBackgroundTask extends Task.Backgroundable {
                 "IvyIDEA " + event.getPresentation().getText(),
                 true, new IvyIdeaPerformInBackgroundOption(PlatformDataKeys.PROJECT.getData(event.getDataContext())));
     }
+
+    public IvyIdeaBackgroundTask(Project project, String title) {
+        super(project, "IvyIDEA " + title, true, new IvyIdeaPerformInBackgroundOption(project));
+    }
 }
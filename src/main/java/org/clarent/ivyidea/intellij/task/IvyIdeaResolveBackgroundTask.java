@@ -27,6 +27,8 @@ import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
 import org.clarent.ivyidea.exception.ui.IvyIdeaExceptionDialog;
 import org.clarent.ivyidea.exception.ui.LinkBehavior;
 import org.clarent.ivyidea.intellij.ui.IvyIdeaProjectSettingsComponent;
+import org.clarent.ivyidea.ivy.IvyEngineCache;
+import org.clarent.ivyidea.ivy.ModuleDescriptorCache;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -55,6 +57,11 @@ public abstract class IvyIdeaResolveBackgroundTask extends IvyIdeaBackgroundTask
         this.project = project;
     }
 
+    protected IvyIdeaResolveBackgroundTask(Project project, String title) {
+        super(project, title);
+        this.project = project;
+    }
+
     protected ProgressMonitorThread getProgressMonitorThread() {
         return monitorThread;
     }
@@ -86,12 +93,18 @@ public abstract class IvyIdeaResolveBackgroundTask extends IvyIdeaBackgroundTask
     @Override
     public void onCancel() {
         super.onCancel();
+        // The engines might have been interrupted in the middle of a resolve; don't reuse them
+        IvyEngineCache.getInstance(project).clear();
+        ModuleDescriptorCache.getInstance(project).clear();
         if (exception != null) {
             handle(exception);
         }
     }
 
-    private void handle(IvyIdeaException exception) {
+    /**
+     * Called when the resolve failed because of a configuration problem; shows an error dialog by default.
+     */
+    protected void handle(IvyIdeaException exception) {
         if (exception instanceof IvyFileReadException) {
             showSimpleErrorDialog("Ivy File Error", exception);
         } else if (exception instanceof IvySettingsFileReadException) {
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.intellij.task;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.exception.IvyFileReadException;
+import org.clarent.ivyidea.exception.IvyIdeaException;
+import org.clarent.ivyidea.exception.IvySettingsFileReadException;
+import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.intellij.IntellijUtils;
+import org.clarent.ivyidea.intellij.ResolveResultHandler;
+import org.clarent.ivyidea.ivy.IvyManager;
+import org.clarent.ivyidea.resolve.IntellijDependencyResolver;
+import org.clarent.ivyidea.resolve.MultiModuleResolver;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves modules against the repositories after they were resolved from the ivy cache only.
+ * <p>
+ * Only the modules whose cache-only result may be incomplete or outdated are resolved again: the
+ * ones with resolve problems and the ones that depend on dynamic or changing revisions. Modules
+ * for which the repositories return the same dependencies are left untouched in the IntelliJ model.
+ *
+ * @see IvyIdeaConfigHelper#createFirstResolveSettings
+ */
+public class NetworkResolveTask extends IvyIdeaResolveBackgroundTask {
+
+    private final List<Module> modules;
+
+    private NetworkResolveTask(Project project, List<Module> modules) {
+        super(project, "Resolve from Repositories");
+        this.modules = modules;
+    }
+
+    /**
+     * Starts resolving the modules of the given resolvers that still need the repositories, if any.
+     */
+    public static void startIfNeeded(@NotNull Project project, @NotNull List<IntellijDependencyResolver> resolvers) {
+        final List<Module> modules = new ArrayList<>();
+        for (IntellijDependencyResolver resolver : resolvers) {
+            if (resolver.needsRepositoryResolve()) {
+                modules.add(resolver.getModule());
+            }
+        }
+        if (modules.isEmpty()) {
+            return;
+        }
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (!project.isDisposed()) {
+                ProgressManager.getInstance().run(new NetworkResolveTask(project, modules));
+            }
+        });
+    }
+
+    public void doResolve(@NotNull ProgressIndicator indicator) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        final List<Module> modulesToResolve = new ArrayList<>();
+        for (Module module : modules) {
+            if (!module.isDisposed()) {
+                modulesToResolve.add(module);
+            }
+        }
+
+        final IvyManager ivyManager = new IvyManager(IvyIdeaConfigHelper.createResolveSettings(myProject));
+        final MultiModuleResolver multiModuleResolver = new MultiModuleResolver(ivyManager, ivyManager.getResolveSettings().getResolveParallelism());
+        final List<IntellijDependencyResolver> resolvers = multiModuleResolver.resolve(modulesToResolve, indicator, getProgressMonitorThread());
+        if (indicator.isCanceled()) {
+            return;
+        }
+
+        final Map<Module, List<ResolvedDependency>> dependenciesByModule = new LinkedHashMap<>();
+        for (IntellijDependencyResolver resolver : resolvers) {
+            dependenciesByModule.put(resolver.getModule(), resolver.getDependencies());
+        }
+        ResolveResultHandler.updateIntellijModel(myProject, dependenciesByModule, ivyManager.getResolveSettings(), ivyManager.getStatistics());
+        for (IntellijDependencyResolver resolver : resolvers) {
+            ResolveResultHandler.reportProblems(resolver.getModule(), resolver.getProblems());
+        }
+    }
+
+    @Override
+    protected void handle(IvyIdeaException exception) {
+        // The dependencies from the ivy cache are in place already; don't interrupt the user with a dialog
+        IntellijUtils.getConsoleView(myProject).print("Resolve from repositories failed: " + exception.getMessage() + '\n', ConsoleViewContentType.ERROR_OUTPUT);
+        IntellijUtils.getToolWindow(myProject).show(null);
+    }
+}
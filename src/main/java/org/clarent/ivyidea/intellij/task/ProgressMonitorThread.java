@@ -19,8 +19,14 @@ package org.clarent.ivyidea.intellij.task;
 import com.intellij.openapi.progress.ProgressIndicator;
 import org.apache.ivy.Ivy;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Background thread that monitors the ProgressIndicator.
+ * <p>
+ * When the indicator gets cancelled, every Ivy engine that is registered as resolving on
+ * some thread is asked to interrupt that thread.
  *
  * @author Maarten Coene
  */
@@ -28,7 +34,7 @@ public class ProgressMonitorThread extends Thread {
 
     private ProgressIndicator indicator;
     private Thread resolveThread;
-    private Ivy ivy;
+    private final Map<Thread, Ivy> activeResolves = new ConcurrentHashMap<>();
 
     public ProgressMonitorThread(ProgressIndicator indicator, Thread resolveThread) {
         super("ProgressIndicator Monitor");
@@ -37,15 +43,32 @@ public class ProgressMonitorThread extends Thread {
     }
 
     public void setIvy(Ivy ivy) {
-        this.ivy = ivy;
+        register(resolveThread, ivy);
+    }
+
+    /**
+     * Registers the Ivy engine that is performing a resolve on the given thread.
+     *
+     * @param thread the thread on which the resolve is running
+     * @param ivy the Ivy engine used by that thread
+     */
+    public void register(Thread thread, Ivy ivy) {
+        activeResolves.put(thread, ivy);
+    }
+
+    public void unregister(Thread thread) {
+        activeResolves.remove(thread);
     }
 
     @Override
     public void run() {
         while (indicator.isRunning()) {
-            if (ivy != null && indicator.isCanceled()) {
-                ivy.interrupt(resolveThread);
-                return;
+            if (indicator.isCanceled()) {
+                // keep monitoring after a cancel: worker threads might still register themselves
+                for (Map.Entry<Thread, Ivy> activeResolve : activeResolves.entrySet()) {
+                    activeResolves.remove(activeResolve.getKey());
+                    activeResolve.getValue().interrupt(activeResolve.getKey());
+                }
             }
             try {
                 Thread.sleep(500);
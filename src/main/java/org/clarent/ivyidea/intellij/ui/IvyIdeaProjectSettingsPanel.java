@@ -38,6 +38,9 @@ import static org.clarent.ivyidea.config.model.ArtifactTypeSettings.DependencyCa
 
 public class IvyIdeaProjectSettingsPanel {
 
+    private static final int MAX_RESOLVE_PARALLELISM = 32;
+    private static final int MAX_REMOTE_SETTINGS_CACHE_MINUTES = 24 * 60;
+
     private boolean modified;
     private TextFieldWithBrowseButton txtIvySettingsFile;
     private JPanel projectSettingsPanel;
@@ -61,6 +64,12 @@ public class IvyIdeaProjectSettingsPanel {
     private JCheckBox autoAttachSources;
     private JCheckBox autoAttachJavadocs;
     private JCheckBox detectDependenciesOnOtherModules;
+    private JCheckBox chkReuseResolveResults;
+    private JCheckBox chkAutoResolve;
+    private JCheckBox chkLazyAttach;
+    private JCheckBox chkResolveFromCacheFirst;
+    private JSpinner spnResolveParallelism;
+    private JSpinner spnRemoteSettingsCacheMinutes;
     private JPanel pnlIvyFiles;
     private JPanel pnlArtefactTypes;
     private IvyIdeaProjectSettings internalState;
@@ -108,6 +117,7 @@ public class IvyIdeaProjectSettingsPanel {
             internalState = new IvyIdeaProjectSettings();
         }
         internalState.setIvySettingsFile(txtIvySettingsFile.getText());
+        internalState.setRemoteSettingsCacheMinutes((Integer) spnRemoteSettingsCacheMinutes.getValue());
         internalState.setValidateIvyFiles(chkValidateIvyFiles.isSelected());
         internalState.setResolveTransitively(chkResolveTransitively.isSelected());
         internalState.setResolveCacheOnly(chkUseCacheOnly.isSelected());
@@ -116,6 +126,11 @@ public class IvyIdeaProjectSettingsPanel {
         internalState.setAlwaysAttachJavadocs(autoAttachJavadocs.isSelected());
         internalState.setUseCustomIvySettings(useYourOwnIvySettingsRadioButton.isSelected());
         internalState.setDetectDependenciesOnOtherModules(detectDependenciesOnOtherModules.isSelected());
+        internalState.setResolveParallelism((Integer) spnResolveParallelism.getValue());
+        internalState.setReuseResolveResults(chkReuseResolveResults.isSelected());
+        internalState.setAutoResolve(chkAutoResolve.isSelected());
+        internalState.setLazyAttachSourcesAndJavadocs(chkLazyAttach.isSelected());
+        internalState.setResolveFromCacheFirst(chkResolveFromCacheFirst.isSelected());
         final PropertiesSettings propertiesSettings = new PropertiesSettings();
         propertiesSettings.setPropertyFiles(getPropertiesFiles());
         internalState.setPropertiesSettings(propertiesSettings);
@@ -134,6 +149,7 @@ public class IvyIdeaProjectSettingsPanel {
             config = new IvyIdeaProjectSettings();
         }
         txtIvySettingsFile.setText(config.getIvySettingsFile());
+        spnRemoteSettingsCacheMinutes.setValue(Math.max(0, Math.min(MAX_REMOTE_SETTINGS_CACHE_MINUTES, config.getRemoteSettingsCacheMinutes())));
         chkValidateIvyFiles.setSelected(config.isValidateIvyFiles());
         chkResolveTransitively.setSelected(config.isResolveTransitively());
         chkUseCacheOnly.setSelected(config.isResolveCacheOnly());
@@ -142,6 +158,11 @@ public class IvyIdeaProjectSettingsPanel {
         autoAttachJavadocs.setSelected(config.isAlwaysAttachJavadocs());
         useYourOwnIvySettingsRadioButton.setSelected(config.isUseCustomIvySettings());
         detectDependenciesOnOtherModules.setSelected(config.isDetectDependenciesOnOtherModules());
+        spnResolveParallelism.setValue(Math.max(1, Math.min(MAX_RESOLVE_PARALLELISM, config.getResolveParallelism())));
+        chkReuseResolveResults.setSelected(config.isReuseResolveResults());
+        chkAutoResolve.setSelected(config.isAutoResolve());
+        chkLazyAttach.setSelected(config.isLazyAttachSourcesAndJavadocs());
+        chkResolveFromCacheFirst.setSelected(config.isResolveFromCacheFirst());
         setPropertiesFiles(config.getPropertiesSettings().getPropertyFiles());
         includeModuleNameCheckBox.setSelected(config.isLibraryNameIncludesModule());
         includeConfigurationNameCheckBox.setSelected(config.isLibraryNameIncludesConfiguration());
@@ -159,5 +180,7 @@ public class IvyIdeaProjectSettingsPanel {
         orderedFileList = new OrderedFileList(project);
         pnlPropertiesFiles.add(orderedFileList.getRootPanel(), BorderLayout.CENTER);
         ivyLogLevelComboBox = new ComboBox<>(IvyLogLevel.values());
+        spnResolveParallelism = new JSpinner(new SpinnerNumberModel(1, 1, MAX_RESOLVE_PARALLELISM, 1));
+        spnRemoteSettingsCacheMinutes = new JSpinner(new SpinnerNumberModel(10, 0, MAX_REMOTE_SETTINGS_CACHE_MINUTES, 1));
     }
 }
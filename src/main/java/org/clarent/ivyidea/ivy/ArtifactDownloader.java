@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.ivy;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.ivy.Ivy;
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.module.id.ArtifactRevisionId;
+import org.apache.ivy.core.report.ArtifactDownloadReport;
+import org.apache.ivy.core.resolve.DownloadOptions;
+import org.clarent.ivyidea.intellij.task.ProgressMonitorThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downloads artifacts that are not part of the resolve report, like the sources and javadoc
+ * that are attached to every library, in the background while the resolve goes on.
+ * <p>
+ * At most {@link #MAX_CONCURRENT_DOWNLOADS} artifacts are downloaded at the same time for the
+ * whole IDE. Every artifact is downloaded only once per instance, however many modules or
+ * configurations ask for it. While an artifact is downloaded, the pool thread doing so is
+ * registered with the {@link ProgressMonitorThread} of the resolve, so cancelling the resolve
+ * also interrupts the downloads that are running.
+ */
+public class ArtifactDownloader {
+
+    private static final int MAX_CONCURRENT_DOWNLOADS = 4;
+    private static final ExecutorService EXECUTOR =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("IvyIDEA Artifact Downloads", MAX_CONCURRENT_DOWNLOADS);
+
+    private final Map<DownloadKey, Future<ArtifactDownloadReport>> downloads = new ConcurrentHashMap<>();
+    private final AtomicInteger requestedCount = new AtomicInteger();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private volatile ProgressMonitorThread monitorThread;
+
+    /**
+     * Sets the thread that interrupts the running downloads when the resolve is cancelled.
+     */
+    public void setMonitorThread(@Nullable ProgressMonitorThread monitorThread) {
+        this.monitorThread = monitorThread;
+    }
+
+    /**
+     * Starts downloading the given artifact, unless it was requested before.
+     *
+     * @param ivy the engine to download the artifact with
+     * @param artifact the artifact to download
+     * @param indicator the indicator to report the progress on; no more downloads are started once it is cancelled
+     * @return the result of the download; null when it was skipped because the indicator got cancelled
+     */
+    @NotNull
+    public Future<ArtifactDownloadReport> download(@NotNull Ivy ivy, @NotNull Artifact artifact, @Nullable ProgressIndicator indicator) {
+        return downloads.computeIfAbsent(new DownloadKey(ivy, artifact.getId()), key -> {
+            requestedCount.incrementAndGet();
+            return EXECUTOR.submit(() -> {
+                if (indicator != null && indicator.isCanceled()) {
+                    return null;
+                }
+                final ProgressMonitorThread monitor = monitorThread;
+                final Thread currentThread = Thread.currentThread();
+                if (monitor != null) {
+                    monitor.register(currentThread, ivy);
+                }
+                ivy.pushContext();
+                try {
+                    return ivy.getResolveEngine().download(artifact, new DownloadOptions());
+                } finally {
+                    ivy.popContext();
+                    if (monitor != null) {
+                        monitor.unregister(currentThread);
+                    }
+                    final int finished = finishedCount.incrementAndGet();
+                    if (indicator != null) {
+                        indicator.setText2("Downloaded " + finished + " of " + requestedCount.get() + " source and javadoc artifacts");
+                    }
+                }
+            });
+        });
+    }
+
+    private static class DownloadKey {
+        private final Ivy ivy;
+        private final ArtifactRevisionId artifactId;
+
+        private DownloadKey(Ivy ivy, ArtifactRevisionId artifactId) {
+            this.ivy = ivy;
+            this.artifactId = artifactId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DownloadKey)) {
+                return false;
+            }
+            final DownloadKey other = (DownloadKey) o;
+            return ivy == other.ivy && artifactId.equals(other.artifactId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(ivy), artifactId);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.ivy;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import org.apache.ivy.Ivy;
+import org.apache.ivy.core.settings.IvySettings;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.exception.IvySettingsFileReadException;
+import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.util.Fingerprint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the configured Ivy engines of a project between resolves, so the ivy settings are only
+ * parsed again when something they depend on changed.
+ * <p>
+ * An engine is reused as long as the ivy settings location, the contents of a local settings
+ * file and of the local files it includes, the injected properties and the log threshold are the
+ * same. For settings loaded over http the local copies kept by the {@link RemoteSettingsCache} are
+ * compared instead. Modules for which all of these are equal share a single engine, so the
+ * settings are parsed once and Ivy's in-memory caches are shared as well.
+ * <p>
+ * The base directory of an engine is the directory of the module file of the module it was
+ * created for. When the settings, the files they include, the properties or the ivy file of a
+ * module refer to the {@code basedir} variable, the module only shares an engine with modules in
+ * the same directory.
+ * <p>
+ * Engines for different settings are created concurrently; only requests for the same settings
+ * wait for each other. An engine is forgotten once no module uses its settings anymore, like the
+ * engines for the settings tried while editing a facet.
+ */
+public class IvyEngineCache {
+
+    private static final Logger LOGGER = Logger.getLogger(IvyEngineCache.class.getName());
+    private static final String BASEDIR = "basedir";
+
+    private final Project project;
+    private final Map<String, CachedEngine> engines = new ConcurrentHashMap<>();
+    private final Map<String, Object> engineLocks = new ConcurrentHashMap<>();
+    private final Map<Module, String> identitiesByModule = new HashMap<>();
+    private final Map<String, List<File>> settingsFilesBySettings = new ConcurrentHashMap<>();
+    private final Map<File, FileContents> fileContents = new ConcurrentHashMap<>();
+
+    public IvyEngineCache(Project project) {
+        this.project = project;
+    }
+
+    public static IvyEngineCache getInstance(Project project) {
+        return project.getService(IvyEngineCache.class);
+    }
+
+    /**
+     * Returns an Ivy engine configured with the current settings of the given module, creating
+     * one if none of the cached engines matches these settings.
+     */
+    @NotNull
+    public Ivy getIvy(@NotNull Module module) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        final List<String> propertiesFiles = IvyIdeaConfigHelper.getPropertiesFiles(module);
+        return getIvy(module, IvyIdeaConfigHelper.getIvySettingsFile(module), propertiesFiles,
+                IvyIdeaConfigHelper.loadProperties(module, propertiesFiles), IvyUtil.getIvyFile(module));
+    }
+
+    /**
+     * Returns an Ivy engine for the given module that is configured with the given settings instead
+     * of the current ones, such as the settings that are being edited in the facet settings.
+     *
+     * @param settingsFile the ivy settings location, or null for the default settings
+     * @param propertiesFiles the properties files the given properties were loaded from
+     * @param ivyFile the ivy file the engine will be used for, if known
+     */
+    @NotNull
+    public Ivy getIvy(@NotNull Module module, @Nullable String settingsFile, @NotNull List<String> propertiesFiles,
+                                   @NotNull Properties properties, @Nullable File ivyFile) throws IvySettingsFileReadException {
+        final FileContents settingsContents = getFileContents(IvyIdeaConfigHelper.getLocalSettingsFile(settingsFile));
+        final FileContents ivyFileContents = getFileContents(ivyFile);
+        final String settingsIdentity = new Fingerprint()
+                .add(settingsFile)
+                .add(propertiesFiles.toArray(new String[0]))
+                .toString();
+        // the files included by the settings are only known once they have been loaded before
+        final boolean usesBaseDir = settingsContents.mentionsBaseDir || ivyFileContents.mentionsBaseDir || mentionsBaseDir(properties)
+                || mentionsBaseDir(settingsFilesBySettings.get(settingsIdentity));
+
+        final String identity = getIdentity(settingsIdentity, usesBaseDir ? getBaseDir(module) : null);
+        useIdentity(module, identity);
+        synchronized (engineLocks.computeIfAbsent(identity, key -> new Object())) {
+            final CachedEngine cachedEngine = engines.get(identity);
+            if (cachedEngine != null && cachedEngine.key.equals(computeKey(settingsFile, settingsContents, properties, cachedEngine.settingsFiles))) {
+                return cachedEngine.ivy;
+            }
+
+            LOGGER.info("Configuring Ivy engine for settings " + (settingsFile == null ? "[default]" : settingsFile) + " for module " + module.getName());
+            final Set<File> readFiles = new LinkedHashSet<>();
+            final IvySettings ivySettings = IvyIdeaConfigHelper.createConfiguredIvySettings(module, settingsFile, properties, readFiles);
+            final Ivy ivy = IvyUtil.createConfiguredIvyEngine(module, ivySettings);
+            final List<File> settingsFiles = Collections.unmodifiableList(new ArrayList<>(readFiles));
+            // computed after loading the settings, as only then the files they include are known
+            final CachedEngine engine = new CachedEngine(computeKey(settingsFile, settingsContents, properties, settingsFiles), settingsIdentity, settingsFiles, ivy);
+            if (usesBaseDir || !mentionsBaseDir(settingsFiles)) {
+                engines.put(identity, engine);
+            } else {
+                // an included file refers to the base directory, so the engine is only valid for this module's directory
+                final String moduleIdentity = getIdentity(settingsIdentity, getBaseDir(module));
+                engines.put(moduleIdentity, engine);
+                engines.remove(identity);
+                useIdentity(module, moduleIdentity);
+            }
+            settingsFilesBySettings.put(settingsIdentity, settingsFiles);
+            return ivy;
+        }
+    }
+
+    /**
+     * Returns a hash of the local files that were read while configuring the engine the given
+     * module used last, such as the files included by its ivy settings.
+     *
+     * @return the hash, or null if no engine was configured for the module yet
+     */
+    @Nullable
+    public String getSettingsFilesHash(@NotNull Module module) {
+        final String identity;
+        synchronized (identitiesByModule) {
+            identity = identitiesByModule.get(module);
+        }
+        final CachedEngine cachedEngine = identity == null ? null : engines.get(identity);
+        if (cachedEngine == null) {
+            return null;
+        }
+        final Fingerprint fingerprint = new Fingerprint();
+        addSettingsFiles(fingerprint, cachedEngine.settingsFiles);
+        return fingerprint.toString();
+    }
+
+    private static String getIdentity(String settingsIdentity, @Nullable String baseDir) {
+        return new Fingerprint().add(settingsIdentity).add(baseDir).toString();
+    }
+
+    /**
+     * Records that the given module now uses the engine with the given identity, and forgets the
+     * engines that are no longer used by any module.
+     */
+    private void useIdentity(Module module, String identity) {
+        final Set<String> unusedIdentities = new HashSet<>();
+        synchronized (identitiesByModule) {
+            final String previousIdentity = identitiesByModule.put(module, identity);
+            if (identity.equals(previousIdentity)) {
+                return;
+            }
+            if (previousIdentity != null) {
+                unusedIdentities.add(previousIdentity);
+            }
+            for (Iterator<Map.Entry<Module, String>> it = identitiesByModule.entrySet().iterator(); it.hasNext(); ) {
+                final Map.Entry<Module, String> entry = it.next();
+                if (entry.getKey().isDisposed()) {
+                    unusedIdentities.add(entry.getValue());
+                    it.remove();
+                }
+            }
+            unusedIdentities.removeAll(identitiesByModule.values());
+        }
+        for (String unusedIdentity : unusedIdentities) {
+            engines.remove(unusedIdentity);
+            engineLocks.remove(unusedIdentity);
+        }
+        if (!unusedIdentities.isEmpty()) {
+            final Set<String> usedSettings = new HashSet<>();
+            for (CachedEngine engine : engines.values()) {
+                usedSettings.add(engine.settingsIdentity);
+            }
+            settingsFilesBySettings.keySet().retainAll(usedSettings);
+        }
+    }
+
+    private String computeKey(@Nullable String settingsFile, FileContents settingsContents, Properties properties, List<File> settingsFiles) {
+        final Fingerprint fingerprint = new Fingerprint()
+                .add(settingsContents.hash)
+                .add(RemoteSettingsCache.getInstance(project).getContentHash(settingsFile))
+                .add(properties)
+                .add(IvyIdeaConfigHelper.getIvyLoggingThreshold(project).name());
+        addSettingsFiles(fingerprint, settingsFiles);
+        return fingerprint.toString();
+    }
+
+    private void addSettingsFiles(Fingerprint fingerprint, List<File> settingsFiles) {
+        fingerprint.add(String.valueOf(settingsFiles.size()));
+        for (File settingsFile : settingsFiles) {
+            fingerprint.add(settingsFile.getPath()).add(getFileContents(settingsFile).hash);
+        }
+    }
+
+    /**
+     * Forgets all engines, for example because a resolve using them was interrupted.
+     */
+    public void clear() {
+        synchronized (identitiesByModule) {
+            identitiesByModule.clear();
+        }
+        engines.clear();
+        engineLocks.clear();
+        settingsFilesBySettings.clear();
+        fileContents.clear();
+    }
+
+    @Nullable
+    private static String getBaseDir(Module module) {
+        final File moduleFileFolder = new File(module.getModuleFilePath()).getParentFile();
+        return moduleFileFolder == null ? null : moduleFileFolder.getAbsolutePath();
+    }
+
+    private boolean mentionsBaseDir(@Nullable List<File> settingsFiles) {
+        if (settingsFiles != null) {
+            for (File settingsFile : settingsFiles) {
+                if (getFileContents(settingsFile).mentionsBaseDir) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentionsBaseDir(Properties properties) {
+        for (String name : properties.stringPropertyNames()) {
+            if (name.contains(BASEDIR) || properties.getProperty(name).contains(BASEDIR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Examines the contents of the given file, only reading it again when its size or modification time changed.
+     */
+    @NotNull
+    private FileContents getFileContents(@Nullable File file) {
+        if (file == null || !file.isFile()) {
+            return FileContents.MISSING;
+        }
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final FileContents contents = fileContents.get(file);
+        if (contents != null && contents.lastModified == lastModified && contents.length == length) {
+            return contents;
+        }
+        try {
+            final byte[] bytes = Files.readAllBytes(file.toPath());
+            final String text = new String(bytes, StandardCharsets.UTF_8);
+            final FileContents newContents = new FileContents(lastModified, length, new Fingerprint().add(text).toString(), text.contains(BASEDIR));
+            fileContents.put(file, newContents);
+            return newContents;
+        } catch (IOException e) {
+            // loading the file will fail as well and report the problem
+            fileContents.remove(file);
+            return FileContents.MISSING;
+        }
+    }
+
+    private static class CachedEngine {
+        private final String key;
+        private final String settingsIdentity;
+        private final List<File> settingsFiles;
+        private final Ivy ivy;
+
+        private CachedEngine(String key, String settingsIdentity, List<File> settingsFiles, Ivy ivy) {
+            this.key = key;
+            this.settingsIdentity = settingsIdentity;
+            this.settingsFiles = settingsFiles;
+            this.ivy = ivy;
+        }
+    }
+
+    private static class FileContents {
+        private static final FileContents MISSING = new FileContents(0, 0, null, false);
+
+        private final long lastModified;
+        private final long length;
+        private final String hash;
+        private final boolean mentionsBaseDir;
+
+        private FileContents(long lastModified, long length, String hash, boolean mentionsBaseDir) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+            this.mentionsBaseDir = mentionsBaseDir;
+        }
+    }
+}
@@ -17,54 +17,133 @@
 package org.clarent.ivyidea.ivy;
 
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
 import org.apache.ivy.Ivy;
 import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
-import org.apache.ivy.core.settings.IvySettings;
-import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.apache.ivy.core.module.id.ModuleId;
+import org.clarent.ivyidea.config.ResolveSettings;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.intellij.IntellijUtils;
+import org.clarent.ivyidea.resolve.ResolveStatistics;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Caches the Ivy engines, parsed module descriptors and optional artifact downloads used during
+ * a single resolve run, together with the {@link ResolveSettings} the run uses.
+ * The engines and descriptors themselves are taken from the project's {@link IvyEngineCache} and
+ * {@link ModuleDescriptorCache}, so they can be reused by later runs. Instances can safely be
+ * shared between the threads of a parallel resolve; only requests for the same module wait for
+ * each other. The time spent on configuring the engines and parsing the ivy files is recorded in
+ * the {@link ResolveStatistics} of the run.
+ *
  * @author Guy Mahieu
  */
 
 public class IvyManager {
 
-    private Map<Module, Ivy> configuredIvyInstances = new HashMap<Module, Ivy>();
-    private Map<Module, ModuleDescriptor> moduleDescriptors = new HashMap<Module, ModuleDescriptor>();
+    private final Map<Module, Ivy> configuredIvyInstances = new ConcurrentHashMap<>();
+    private final Map<Module, ModuleDescriptor> moduleDescriptors = Collections.synchronizedMap(new HashMap<>());
+    private final Map<Module, Object> moduleLocks = new ConcurrentHashMap<>();
+    private final Object modulesByIdLock = new Object();
+    private volatile Map<ModuleId, Module> modulesById;
+    private final ArtifactDownloader artifactDownloader = new ArtifactDownloader();
+    private final ResolveStatistics statistics = new ResolveStatistics();
+    private final ResolveSettings resolveSettings;
 
-    public Ivy getIvy(final Module module) throws IvySettingsNotFoundException, IvySettingsFileReadException {
-        if (!configuredIvyInstances.containsKey(module)) {
-            final IvySettings configuredIvySettings = IvyIdeaConfigHelper.createConfiguredIvySettings(module);
-            final Ivy ivy = IvyUtil.createConfiguredIvyEngine(module, configuredIvySettings);
+    public IvyManager(@NotNull ResolveSettings resolveSettings) {
+        this.resolveSettings = resolveSettings;
+    }
+
+    /**
+     * @return the settings of this run, captured when it started
+     */
+    @NotNull
+    public ResolveSettings getResolveSettings() {
+        return resolveSettings;
+    }
+
+    /**
+     * @return the downloader for the optional artifacts of this run, shared by all modules
+     */
+    public ArtifactDownloader getArtifactDownloader() {
+        return artifactDownloader;
+    }
+
+    /**
+     * @return the statistics of this run
+     */
+    public ResolveStatistics getStatistics() {
+        return statistics;
+    }
 
-            configuredIvyInstances.put(module, ivy);
+    public Ivy getIvy(final Module module) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        synchronized (getLock(module)) {
+            if (!configuredIvyInstances.containsKey(module)) {
+                final long start = System.nanoTime();
+                configuredIvyInstances.put(module, IvyEngineCache.getInstance(module.getProject()).getIvy(module));
+                statistics.addTime(module.getName(), ResolveStatistics.Phase.SETTINGS, System.nanoTime() - start);
+            }
+            return configuredIvyInstances.get(module);
         }
-        return configuredIvyInstances.get(module);
     }
 
     @Nullable
     public ModuleDescriptor getModuleDescriptor(Module module) throws IvySettingsNotFoundException, IvySettingsFileReadException {
-        if (!moduleDescriptors.containsKey(module)) {
-            final File ivyFile = IvyUtil.getIvyFile(module);
-            if (ivyFile != null) {
-                try {
-                    final ModuleDescriptor descriptor = IvyUtil.parseIvyFile(ivyFile, getIvy(module));
-                    moduleDescriptors.put(module, descriptor);
-                } catch (RuntimeException e) {
-                    // ignore
+        synchronized (getLock(module)) {
+            if (!moduleDescriptors.containsKey(module)) {
+                final File ivyFile = IvyUtil.getIvyFile(module);
+                if (ivyFile != null) {
+                    final Ivy ivy = getIvy(module);
+                    final long start = System.nanoTime();
+                    try {
+                        final ModuleDescriptor descriptor = ModuleDescriptorCache.getInstance(module.getProject()).getModuleDescriptor(ivyFile, ivy);
+                        moduleDescriptors.put(module, descriptor);
+                    } catch (RuntimeException e) {
+                        // ignore
+                        moduleDescriptors.put(module, null);
+                    } finally {
+                        statistics.addTime(module.getName(), ResolveStatistics.Phase.PARSE, System.nanoTime() - start);
+                    }
+                } else {
                     moduleDescriptors.put(module, null);
                 }
-            } else {
-                moduleDescriptors.put(module, null);
             }
+
+            return moduleDescriptors.get(module);
         }
+    }
+
+    /**
+     * Returns the modules of the given project that have an IvyIDEA facet by the module id in their
+     * ivy file. The index is built once per run; modules whose ivy file cannot be read are left out,
+     * and of several modules with the same module id only the first one is kept.
+     */
+    @NotNull
+    public Map<ModuleId, Module> getModulesById(@NotNull Project project) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        synchronized (modulesByIdLock) {
+            if (modulesById == null) {
+                final Map<ModuleId, Module> index = new HashMap<>();
+                for (Module module : IntellijUtils.getAllModulesWithIvyIdeaFacet(project)) {
+                    final ModuleDescriptor descriptor = getModuleDescriptor(module);
+                    if (descriptor != null) {
+                        index.putIfAbsent(descriptor.getModuleRevisionId().getModuleId(), module);
+                    }
+                }
+                modulesById = Collections.unmodifiableMap(index);
+            }
+            return modulesById;
+        }
+    }
 
-        return moduleDescriptors.get(module);
+    private Object getLock(Module module) {
+        return moduleLocks.computeIfAbsent(module, key -> new Object());
     }
 }
@@ -19,7 +19,10 @@ package org.clarent.ivyidea.ivy;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import org.apache.ivy.Ivy;
+import org.apache.ivy.core.cache.DefaultRepositoryCacheManager;
+import org.apache.ivy.core.cache.RepositoryCacheManager;
 import org.apache.ivy.core.event.EventManager;
+import org.apache.ivy.core.module.descriptor.Artifact;
 import org.apache.ivy.core.module.descriptor.Configuration;
 import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
 import org.apache.ivy.core.settings.IvySettings;
@@ -102,17 +105,19 @@ public class IvyUtil {
      *
      * @param ivyFileName the name of the ivy file to parse
      * @param ivy the Ivy engine to use, configured with the appropriate settings
+     * @param descriptorCache the cache of the project, which parses the file if needed
      * @return a set of configurations, null if anything went wrong parsing the ivy file
      *
      * @throws java.text.ParseException if there was an error parsing the ivy file; if the file
      *          does not exist or is a directory, no exception will be thrown
      */
     @Nullable
-    public static Set<Configuration> loadConfigurations(@NotNull String ivyFileName, @NotNull Ivy ivy) throws ParseException {
+    public static Set<Configuration> loadConfigurations(@NotNull String ivyFileName, @NotNull Ivy ivy,
+                                                        @NotNull ModuleDescriptorCache descriptorCache) throws ParseException {
         try {
             final File file = new File(ivyFileName);
             if (file.exists() && !file.isDirectory()) {
-                final ModuleDescriptor md = parseIvyFile(file, ivy);
+                final ModuleDescriptor md = descriptorCache.getModuleDescriptor(file, ivy);
                 Set<Configuration> result = new TreeSet<>((o1, o2) -> o1.getName().compareToIgnoreCase(o2.getName()));
                 result.addAll(Arrays.asList(md.getConfigurations()));
                 return result;
@@ -140,6 +145,23 @@ public class IvyUtil {
         return ivy;
     }
 
+    /**
+     * Returns the location of the given artifact in the ivy cache, without downloading it.
+     *
+     * @return the file the artifact is or would be stored in, or null if the cache of the
+     *          resolver responsible for the artifact does not expose its layout
+     */
+    @Nullable
+    public static File getCachedArtifactFile(@NotNull Ivy ivy, @NotNull Artifact artifact) {
+        final IvySettings settings = ivy.getSettings();
+        final DependencyResolver resolver = settings.getResolver(artifact.getModuleRevisionId());
+        final RepositoryCacheManager cacheManager = resolver == null ? settings.getDefaultRepositoryCacheManager() : resolver.getRepositoryCacheManager();
+        if (cacheManager instanceof DefaultRepositoryCacheManager) {
+            return ((DefaultRepositoryCacheManager) cacheManager).getArchiveFileInCache(artifact);
+        }
+        return null;
+    }
+
     private static void postConfigure(final Ivy ivy) {
         EventManager eventManager = ivy.getEventManager();
         IvySettings settings = ivy.getSettings();
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.ivy;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import org.apache.ivy.Ivy;
+import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the parsed ivy files of a project between resolves, so an ivy file is only parsed again
+ * when it changed.
+ * <p>
+ * A descriptor is reused as long as the size and modification time of the file are the same and
+ * it is requested with the engine it was parsed with; the {@link IvyEngineCache} hands out the same
+ * engine as long as the ivy settings do not change. Files that change in the IDE are forgotten
+ * right away by the {@link org.clarent.ivyidea.intellij.IvyFileChangeListener}. Ivy files that
+ * cannot be parsed are not remembered, so the problem is reported every time.
+ * <p>
+ * The descriptors are shared by all resolves, so they are ready to be resolved when they are
+ * stored and are never changed afterwards.
+ */
+public class ModuleDescriptorCache {
+
+    private final Map<String, CachedDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    public static ModuleDescriptorCache getInstance(Project project) {
+        return project.getService(ModuleDescriptorCache.class);
+    }
+
+    /**
+     * Returns the descriptor of the given ivy file, parsing it with the given engine if it was not
+     * parsed with that engine before or changed since.
+     *
+     * @throws RuntimeException if the file cannot be parsed, as {@link IvyUtil#parseIvyFile} does
+     */
+    @NotNull
+    public ModuleDescriptor getModuleDescriptor(@NotNull File ivyFile, @NotNull Ivy ivy) {
+        final String path = getPath(ivyFile);
+        final long lastModified = ivyFile.lastModified();
+        final long length = ivyFile.length();
+        final CachedDescriptor cachedDescriptor = descriptors.get(path);
+        if (cachedDescriptor != null && cachedDescriptor.ivy == ivy
+                && cachedDescriptor.lastModified == lastModified && cachedDescriptor.length == length) {
+            return cachedDescriptor.descriptor;
+        }
+
+        final ModuleDescriptor descriptor = IvyUtil.parseIvyFile(ivyFile, ivy);
+        if (descriptor.getResolvedModuleRevisionId().getRevision() == null) {
+            // like Ivy does when it resolves an ivy file without a revision
+            descriptor.setResolvedModuleRevisionId(ModuleRevisionId.newInstance(descriptor.getModuleRevisionId(), Ivy.getWorkingRevision()));
+        }
+        descriptors.put(path, new CachedDescriptor(ivy, lastModified, length, descriptor));
+        return descriptor;
+    }
+
+    /**
+     * Forgets the descriptors of the given files.
+     *
+     * @param paths system independent absolute paths
+     */
+    public void invalidate(@NotNull Collection<String> paths) {
+        if (!descriptors.isEmpty()) {
+            descriptors.keySet().removeAll(paths);
+        }
+    }
+
+    /**
+     * Forgets all descriptors, for example because the engines they were parsed with are discarded.
+     */
+    public void clear() {
+        descriptors.clear();
+    }
+
+    private static String getPath(File file) {
+        return FileUtil.toSystemIndependentName(file.getAbsolutePath());
+    }
+
+    private static class CachedDescriptor {
+        private final Ivy ivy;
+        private final long lastModified;
+        private final long length;
+        private final ModuleDescriptor descriptor;
+
+        private CachedDescriptor(Ivy ivy, long lastModified, long length, ModuleDescriptor descriptor) {
+            this.ivy = ivy;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.descriptor = descriptor;
+        }
+    }
+}
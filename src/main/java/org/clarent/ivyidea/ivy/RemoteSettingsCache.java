@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.ivy;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.net.HttpConfigurable;
+import org.apache.ivy.core.settings.IvySettings;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.util.Fingerprint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a local copy of the ivy settings files that are loaded over http, so configuring an Ivy
+ * engine does not wait for the server and still works when it cannot be reached.
+ * <p>
+ * A copy is stored in the system directory of the IDE together with the ETag and Last-Modified
+ * headers it was sent with. Once it is older than the time configured in the project settings, the
+ * copy is still used, but the server is asked in the background whether the file changed; the
+ * {@link IvyEngineCache} picks up the new contents the next time an engine is requested. When the
+ * server cannot be reached the copy is kept, so only settings that were never downloaded need the
+ * network. Local settings files are not kept here: the {@link IvyEngineCache} compares their size
+ * and modification time.
+ */
+public class RemoteSettingsCache {
+
+    private static final Logger LOGGER = Logger.getLogger(RemoteSettingsCache.class.getName());
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Opens the connections to the server.
+     */
+    interface Connector {
+        @NotNull
+        HttpURLConnection open(@NotNull URL url) throws IOException;
+    }
+
+    private final File cacheDir;
+    private final LongSupplier maxAgeMillis;
+    private final Connector connector;
+    private final Executor executor;
+    private final Map<String, CachedSettings> settings = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> includedSettings = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public RemoteSettingsCache(Project project) {
+        this(new File(PathManager.getSystemPath(), "ivyidea/remote-settings/" + project.getLocationHash()),
+                () -> TimeUnit.MINUTES.toMillis(IvyIdeaConfigHelper.getRemoteSettingsCacheMinutes(project)),
+                url -> HttpConfigurable.getInstance().openHttpConnection(url.toExternalForm()),
+                AppExecutorUtil.getAppExecutorService());
+    }
+
+    RemoteSettingsCache(File cacheDir, LongSupplier maxAgeMillis, Connector connector, Executor executor) {
+        this.cacheDir = cacheDir;
+        this.maxAgeMillis = maxAgeMillis;
+        this.connector = connector;
+        this.executor = executor;
+    }
+
+    public static RemoteSettingsCache getInstance(Project project) {
+        return project.getService(RemoteSettingsCache.class);
+    }
+
+    /**
+     * Loads the ivy settings at the given url, and the settings files it includes over http, from
+     * their local copies.
+     */
+    public void load(@NotNull IvySettings ivySettings, @NotNull URL url) throws IOException, ParseException {
+        final String key = url.toExternalForm();
+        final List<String> included = new ArrayList<>();
+        RemoteSettingsURLHandler.install();
+        RemoteSettingsURLHandler.setSource(settingsUrl -> {
+            final String settingsKey = settingsUrl.toExternalForm();
+            if (!settingsKey.equals(key) && !included.contains(settingsKey)) {
+                included.add(settingsKey);
+            }
+            return openStream(settingsUrl);
+        });
+        try {
+            ivySettings.load(url);
+        } finally {
+            RemoteSettingsURLHandler.setSource(null);
+        }
+        includedSettings.put(key, Collections.unmodifiableList(included));
+    }
+
+    /**
+     * Returns a hash of the local copies of the given remote settings and the settings it included
+     * when it was last loaded, downloading the settings if there is no copy yet.
+     *
+     * @param settingsFile a settings file path or url, as returned by {@link IvyIdeaConfigHelper#getIvySettingsFile}
+     * @return the hash, or null if the settings are not loaded over http or cannot be downloaded
+     */
+    @Nullable
+    public String getContentHash(@Nullable String settingsFile) {
+        if (!IvyIdeaConfigHelper.isRemoteSettingsFile(settingsFile)) {
+            return null;
+        }
+        try {
+            final URL url = new URL(settingsFile);
+            final Fingerprint fingerprint = new Fingerprint().addContents(getSettings(url).content);
+            for (String included : includedSettings.getOrDefault(url.toExternalForm(), Collections.emptyList())) {
+                fingerprint.add(included).addContents(getSettings(new URL(included)).content);
+            }
+            return fingerprint.toString();
+        } catch (IOException e) {
+            // loading the settings will fail as well and report the problem
+            return null;
+        }
+    }
+
+    /**
+     * Opens the local copy of the settings file at the given url.
+     */
+    @NotNull
+    InputStream openStream(@NotNull URL url) throws IOException {
+        return new ByteArrayInputStream(getSettings(url).content);
+    }
+
+    @NotNull
+    private CachedSettings getSettings(URL url) throws IOException {
+        final CachedSettings cachedSettings = settings.computeIfAbsent(url.toExternalForm(), this::read);
+        if (cachedSettings == null) {
+            final CachedSettings downloadedSettings = download(url, null);
+            store(downloadedSettings);
+            return downloadedSettings;
+        }
+        if (System.currentTimeMillis() - cachedSettings.checked >= maxAgeMillis.getAsLong()) {
+            revalidateLater(url, cachedSettings);
+        }
+        return cachedSettings;
+    }
+
+    private void revalidateLater(URL url, CachedSettings cachedSettings) {
+        if (!revalidating.add(cachedSettings.url)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                store(download(url, cachedSettings));
+            } catch (IOException e) {
+                LOGGER.info("Unable to check ivy settings " + cachedSettings.url + " for changes, using the local copy: " + e);
+                // don't ask again before the copy is too old once more
+                settings.replace(cachedSettings.url, cachedSettings, cachedSettings.checkedAt(System.currentTimeMillis()));
+            } finally {
+                revalidating.remove(cachedSettings.url);
+            }
+        });
+    }
+
+    /**
+     * Downloads the settings at the given url, unless the server indicates they are the same as the given copy.
+     */
+    @NotNull
+    private CachedSettings download(URL url, @Nullable CachedSettings cachedSettings) throws IOException {
+        final HttpURLConnection connection = connector.open(url);
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        if (cachedSettings != null) {
+            if (cachedSettings.etag != null) {
+                connection.setRequestProperty("If-None-Match", cachedSettings.etag);
+            }
+            if (cachedSettings.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cachedSettings.lastModified);
+            }
+        }
+
+        final int responseCode = connection.getResponseCode();
+        final long now = System.currentTimeMillis();
+        if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedSettings != null) {
+            return cachedSettings.checkedAt(now);
+        }
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Server returned HTTP response code " + responseCode + " for " + url);
+        }
+        try (InputStream in = connection.getInputStream()) {
+            return new CachedSettings(url.toExternalForm(), in.readAllBytes(),
+                    connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"), now);
+        }
+    }
+
+    private File getCacheFile(String url) {
+        return new File(cacheDir, new Fingerprint().add(url) + ".bin");
+    }
+
+    @Nullable
+    private CachedSettings read(String url) {
+        final File file = getCacheFile(url);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !url.equals(in.readUTF())) {
+                return null;
+            }
+            final String etag = readOptionalString(in);
+            final String lastModified = readOptionalString(in);
+            final long checked = in.readLong();
+            final byte[] content = new byte[in.readInt()];
+            in.readFully(content);
+            return new CachedSettings(url, content, etag, lastModified, checked);
+        } catch (IOException e) {
+            LOGGER.info("Ignoring unreadable copy of ivy settings " + url + ": " + e);
+            return null;
+        }
+    }
+
+    private void store(CachedSettings cachedSettings) {
+        settings.put(cachedSettings.url, cachedSettings);
+
+        final File file = getCacheFile(cachedSettings.url);
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            FileUtil.createParentDirs(file);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(cachedSettings.url);
+                writeOptionalString(out, cachedSettings.etag);
+                writeOptionalString(out, cachedSettings.lastModified);
+                out.writeLong(cachedSettings.checked);
+                out.writeInt(cachedSettings.content.length);
+                out.write(cachedSettings.content);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warning("Unable to store a copy of ivy settings " + cachedSettings.url + ": " + e);
+            FileUtil.delete(tempFile);
+            FileUtil.delete(file);
+        }
+    }
+
+    @Nullable
+    private static String readOptionalString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeOptionalString(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static class CachedSettings {
+        private final String url;
+        private final byte[] content;
+        private final String etag;
+        private final String lastModified;
+        private final long checked;
+
+        private CachedSettings(String url, byte[] content, @Nullable String etag, @Nullable String lastModified, long checked) {
+            this.url = url;
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.checked = checked;
+        }
+
+        private CachedSettings checkedAt(long time) {
+            return new CachedSettings(url, content, etag, lastModified, time);
+        }
+    }
+}
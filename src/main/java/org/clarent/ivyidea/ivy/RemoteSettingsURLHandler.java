@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.ivy;
+
+import org.apache.ivy.core.settings.TimeoutConstraint;
+import org.apache.ivy.util.CopyProgressListener;
+import org.apache.ivy.util.url.TimeoutConstrainedURLHandler;
+import org.apache.ivy.util.url.URLHandler;
+import org.apache.ivy.util.url.URLHandlerRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * The url handler Ivy uses by default once remote ivy settings have been loaded through the
+ * {@link RemoteSettingsCache}. While settings are loaded on a thread, the ivy settings files that
+ * Ivy reads over http on that thread, including the files they include, are taken from the cache.
+ * Everything else is passed on to the url handler that was installed before.
+ */
+final class RemoteSettingsURLHandler implements TimeoutConstrainedURLHandler {
+
+    /**
+     * Opens the ivy settings files read while settings are loaded.
+     */
+    interface SettingsSource {
+        @NotNull
+        InputStream openStream(@NotNull URL url) throws IOException;
+    }
+
+    private static final ThreadLocal<SettingsSource> SOURCE = new ThreadLocal<>();
+
+    private final URLHandler delegate;
+
+    private RemoteSettingsURLHandler(URLHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Makes sure this handler is the default url handler of Ivy.
+     */
+    static synchronized void install() {
+        final URLHandler current = URLHandlerRegistry.getDefault();
+        if (!(current instanceof RemoteSettingsURLHandler)) {
+            URLHandlerRegistry.setDefault(new RemoteSettingsURLHandler(current));
+        }
+    }
+
+    /**
+     * Sets the source of the remote ivy settings files read on the current thread.
+     *
+     * @param source the source, or null once the settings have been loaded
+     */
+    static void setSource(@Nullable SettingsSource source) {
+        if (source == null) {
+            SOURCE.remove();
+        } else {
+            SOURCE.set(source);
+        }
+    }
+
+    @Nullable
+    private static SettingsSource getSource(URL url) {
+        final String protocol = url.getProtocol();
+        return "http".equals(protocol) || "https".equals(protocol) ? SOURCE.get() : null;
+    }
+
+    @Override
+    public InputStream openStream(URL url) throws IOException {
+        final SettingsSource source = getSource(url);
+        return source != null ? source.openStream(url) : delegate.openStream(url);
+    }
+
+    @Override
+    public InputStream openStream(URL url, TimeoutConstraint timeoutConstraint) throws IOException {
+        final SettingsSource source = getSource(url);
+        if (source != null) {
+            return source.openStream(url);
+        }
+        return delegate instanceof TimeoutConstrainedURLHandler
+                ? ((TimeoutConstrainedURLHandler) delegate).openStream(url, timeoutConstraint)
+                : delegate.openStream(url);
+    }
+
+    @Override
+    public boolean isReachable(URL url) {
+        return delegate.isReachable(url);
+    }
+
+    @Override
+    public boolean isReachable(URL url, int timeout) {
+        return delegate.isReachable(url, timeout);
+    }
+
+    @Override
+    public boolean isReachable(URL url, TimeoutConstraint timeoutConstraint) {
+        return delegate instanceof TimeoutConstrainedURLHandler
+                ? ((TimeoutConstrainedURLHandler) delegate).isReachable(url, timeoutConstraint)
+                : delegate.isReachable(url);
+    }
+
+    @Override
+    public long getContentLength(URL url) {
+        return delegate.getContentLength(url);
+    }
+
+    @Override
+    public long getContentLength(URL url, int timeout) {
+        return delegate.getContentLength(url, timeout);
+    }
+
+    @Override
+    public long getContentLength(URL url, TimeoutConstraint timeoutConstraint) {
+        return delegate instanceof TimeoutConstrainedURLHandler
+                ? ((TimeoutConstrainedURLHandler) delegate).getContentLength(url, timeoutConstraint)
+                : delegate.getContentLength(url);
+    }
+
+    @Override
+    public long getLastModified(URL url) {
+        return delegate.getLastModified(url);
+    }
+
+    @Override
+    public long getLastModified(URL url, int timeout) {
+        return delegate.getLastModified(url, timeout);
+    }
+
+    @Override
+    public long getLastModified(URL url, TimeoutConstraint timeoutConstraint) {
+        return delegate instanceof TimeoutConstrainedURLHandler
+                ? ((TimeoutConstrainedURLHandler) delegate).getLastModified(url, timeoutConstraint)
+                : delegate.getLastModified(url);
+    }
+
+    @Override
+    public URLInfo getURLInfo(URL url) {
+        return delegate.getURLInfo(url);
+    }
+
+    @Override
+    public URLInfo getURLInfo(URL url, int timeout) {
+        return delegate.getURLInfo(url, timeout);
+    }
+
+    @Override
+    public URLInfo getURLInfo(URL url, TimeoutConstraint timeoutConstraint) {
+        return delegate instanceof TimeoutConstrainedURLHandler
+                ? ((TimeoutConstrainedURLHandler) delegate).getURLInfo(url, timeoutConstraint)
+                : delegate.getURLInfo(url);
+    }
+
+    @Override
+    public void download(URL src, File dest, CopyProgressListener listener) throws IOException {
+        delegate.download(src, dest, listener);
+    }
+
+    @Override
+    public void download(URL src, File dest, CopyProgressListener listener, TimeoutConstraint timeoutConstraint) throws IOException {
+        if (delegate instanceof TimeoutConstrainedURLHandler) {
+            ((TimeoutConstrainedURLHandler) delegate).download(src, dest, listener, timeoutConstraint);
+        } else {
+            delegate.download(src, dest, listener);
+        }
+    }
+
+    @Override
+    public void upload(File src, URL dest, CopyProgressListener listener) throws IOException {
+        delegate.upload(src, dest, listener);
+    }
+
+    @Override
+    public void upload(File src, URL dest, CopyProgressListener listener, TimeoutConstraint timeoutConstraint) throws IOException {
+        if (delegate instanceof TimeoutConstrainedURLHandler) {
+            ((TimeoutConstrainedURLHandler) delegate).upload(src, dest, listener, timeoutConstraint);
+        } else {
+            delegate.upload(src, dest, listener);
+        }
+    }
+
+    @Override
+    public void setRequestMethod(int requestMethod) {
+        delegate.setRequestMethod(requestMethod);
+    }
+}
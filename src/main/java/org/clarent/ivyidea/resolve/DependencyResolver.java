@@ -17,36 +17,47 @@
 package org.clarent.ivyidea.resolve;
 
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.project.Project;
+import com.intellij.openapi.progress.ProgressIndicator;
 import org.apache.ivy.Ivy;
 import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.module.descriptor.DependencyDescriptor;
 import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
 import org.apache.ivy.core.module.id.ModuleRevisionId;
 import org.apache.ivy.core.report.ArtifactDownloadReport;
 import org.apache.ivy.core.report.ConfigurationResolveReport;
 import org.apache.ivy.core.report.ResolveReport;
-import org.apache.ivy.core.resolve.DownloadOptions;
 import org.apache.ivy.core.resolve.IvyNode;
+import org.apache.ivy.core.resolve.IvyNodeCallers;
+import org.apache.ivy.core.resolve.ResolveOptions;
+import org.apache.ivy.plugins.version.VersionMatcher;
 import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.config.ResolveSettings;
 import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
 import org.clarent.ivyidea.exception.IvyFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.ivy.ArtifactDownloader;
 import org.clarent.ivyidea.ivy.IvyManager;
 import org.clarent.ivyidea.ivy.IvyUtil;
 import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
 import org.clarent.ivyidea.resolve.dependency.ExternalDependencyFactory;
 import org.clarent.ivyidea.resolve.dependency.InternalDependency;
+import org.clarent.ivyidea.resolve.dependency.LazyAttachDependency;
 import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
 import org.clarent.ivyidea.resolve.problem.ResolveProblem;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -57,129 +68,263 @@ class DependencyResolver {
 
     private static final Logger LOGGER = Logger.getLogger(DependencyResolver.class.getName());
 
-    private final List<ResolveProblem> resolveProblems;
-    private final List<ResolvedDependency> resolvedDependencies;
-
-    public DependencyResolver() {
-        resolveProblems = new ArrayList<>();
-        resolvedDependencies = new ArrayList<>();
-    }
+    private Extraction extraction;
+    private ProgressIndicator downloadIndicator;
+    private ResolveStatistics statistics = new ResolveStatistics();
+    private boolean reusable;
+    private boolean complete = true;
+    private boolean resolvedFromCacheOnly;
 
     public List<ResolveProblem> getResolveProblems() {
-        return Collections.unmodifiableList(resolveProblems);
+        return extraction == null ? Collections.emptyList() : Collections.unmodifiableList(extraction.problems);
     }
 
     public List<ResolvedDependency> getResolvedDependencies() {
-        return Collections.unmodifiableList(resolvedDependencies);
+        return extraction == null ? Collections.emptyList() : Collections.unmodifiableList(extraction.dependencies);
+    }
+
+    /**
+     * Tells whether the result of the last resolve can be reused as long as its inputs do not
+     * change: it is complete, had no problems and did not depend on dynamic or changing revisions.
+     */
+    public boolean isReusable() {
+        return reusable;
     }
 
-    public void resolve(Module module, IvyManager ivyManager) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+    /**
+     * Tells whether the last resolve only used the ivy cache because the run asked for it, while
+     * the resolve options of the module allow using the repositories.
+     */
+    public boolean isResolvedFromCacheOnly() {
+        return resolvedFromCacheOnly;
+    }
+
+    public void resolve(Module module, IvyManager ivyManager, @Nullable ProgressIndicator indicator) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
         final File ivyFile = IvyUtil.getIvyFile(module);
         if (ivyFile == null) {
             throw new IvyFileReadException(null, module.getName(), null);
         }
 
         final Ivy ivy = ivyManager.getIvy(module);
+        statistics = ivyManager.getStatistics();
+        final ResolveSettings settings = ivyManager.getResolveSettings();
         try {
-            final ResolveReport resolveReport = ivy.resolve(ivyFile.toURI().toURL(), IvyIdeaConfigHelper.createResolveOptions(module));
-            extractDependencies(ivy, resolveReport, new IntellijModuleDependencies(module, ivyManager));
+            final ResolveOptions resolveOptions = IvyIdeaConfigHelper.createResolveOptions(module, settings);
+            resolvedFromCacheOnly = settings.isResolveFromCacheOnly() && !resolveOptions.isUseCacheOnly();
+            if (resolvedFromCacheOnly) {
+                resolveOptions.setUseCacheOnly(true);
+            }
+
+            // validating needs the file itself; the descriptors of the run are parsed without validation
+            final ModuleDescriptor descriptor = resolveOptions.isValidate() ? null : ivyManager.getModuleDescriptor(module);
+
+            long start = System.nanoTime();
+            final ResolveReport resolveReport = resolve(ivy, ivyFile, descriptor, resolveOptions);
+            statistics.addTime(module.getName(), ResolveStatistics.Phase.RESOLVE, System.nanoTime() - start);
+            statistics.addArtifacts(module.getName(), resolveReport.getAllArtifactsReports());
+
+            start = System.nanoTime();
+            final ArtifactDownloader artifactDownloader = ivyManager.getArtifactDownloader();
+            downloadIndicator = indicator;
+            extraction = extractDependencies(ivy, resolveReport, settings, new IntellijModuleDependencies(module, ivyManager),
+                    artifact -> artifactDownloader.download(ivy, artifact, indicator));
+            statistics.addTime(module.getName(), ResolveStatistics.Phase.EXTRACT, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            addDownloadedDependencies(module);
+            statistics.addTime(module.getName(), ResolveStatistics.Phase.DOWNLOAD, System.nanoTime() - start);
+            reusable = complete && extraction.problems.isEmpty() && !resolveReport.hasError() && !hasDynamicRevisions(ivy, resolveReport);
         } catch (ParseException | IOException e) {
             throw new IvyFileReadException(ivyFile.getAbsolutePath(), module.getName(), e);
         }
     }
 
-    // TODO: This method performs way too much tasks -- refactor it!
-    protected void extractDependencies(Ivy ivy, ResolveReport resolveReport, IntellijModuleDependencies moduleDependencies) {
-        final String[] resolvedConfigurations = resolveReport.getConfigurations();
-        for (String resolvedConfiguration : resolvedConfigurations) {
-            ConfigurationResolveReport configurationReport = resolveReport.getConfigurationReport(resolvedConfiguration);
-
-            boolean detectDependenciesOnOtherModulesWhileResolving = IvyIdeaConfigHelper.detectDependenciesOnOtherModulesWhileResolving(moduleDependencies.getModule().getProject());
-
-            // TODO: Refactor this a bit
-            registerProblems(configurationReport, moduleDependencies, detectDependenciesOnOtherModulesWhileResolving);
-
-
-            Set<ModuleRevisionId> dependencies = configurationReport.getModuleRevisionIds();
-            for (ModuleRevisionId dependency : dependencies) {
-                if (detectDependenciesOnOtherModulesWhileResolving && moduleDependencies.isInternalIntellijModuleDependency(dependency.getModuleId())) {
-                    // If the user has chosen to detect dependencies on internal modules we add a module dependency rather
-                    // than a dependency on an external library.
-                    resolvedDependencies.add(new InternalDependency(moduleDependencies.getModuleDependency(dependency.getModuleId())));
-                } else {
-                    final Project project = moduleDependencies.getModule().getProject();
-                    final ArtifactDownloadReport[] artifactDownloadReports = configurationReport.getDownloadReports(dependency);
-                    for (ArtifactDownloadReport artifactDownloadReport : artifactDownloadReports) {
-                        final Artifact artifact = artifactDownloadReport.getArtifact();
-                        final File artifactFile = artifactDownloadReport.getLocalFile();
-                        addExternalDependency(artifact, artifactFile, resolvedConfiguration, project);
-                    }
+    /**
+     * Resolves the given descriptor of the ivy file, so the file is not parsed once more. Without a
+     * descriptor the file itself is resolved; that is also how problems parsing it get reported.
+     * The descriptor is shared through the {@link org.clarent.ivyidea.ivy.ModuleDescriptorCache},
+     * which already gave it a resolved revision, so resolving it does not change it.
+     */
+    private static ResolveReport resolve(Ivy ivy, File ivyFile, @Nullable ModuleDescriptor descriptor, ResolveOptions resolveOptions) throws ParseException, IOException {
+        if (descriptor == null) {
+            return ivy.resolve(ivyFile.toURI().toURL(), resolveOptions);
+        }
+        return ivy.resolve(descriptor, resolveOptions);
+    }
+
+    /**
+     * Extracts the dependencies of all resolved configurations.
+     * <p>
+     * The configurations often share most of their module revisions, so every distinct revision
+     * is processed once: the artifacts to attach to it are determined (and downloaded) once, and
+     * only the resulting dependencies are added for each configuration it is part of.
+     * <p>
+     * Apart from the lookup of the other modules of the project, nothing here depends on the IDE,
+     * so the extraction can be measured on its own.
+     *
+     * @param moduleDependencies the modules of the project, or null to not detect dependencies on them
+     * @param downloader starts downloading a source or javadoc artifact that is not part of the resolve report
+     */
+    static Extraction extractDependencies(Ivy ivy, ResolveReport resolveReport, ResolveSettings settings,
+                                          @Nullable IntellijModuleDependencies moduleDependencies,
+                                          Function<Artifact, Future<ArtifactDownloadReport>> downloader) {
+        final Extraction extraction = new Extraction(settings);
+        final boolean detectDependenciesOnOtherModulesWhileResolving = moduleDependencies != null && settings.isDetectDependenciesOnOtherModules();
 
-                    // If activated manually download any missing javadoc or source dependencies,
-                    // in case they weren't selected by the Ivy configuration.
-                    // This means that dependencies in ivy.xml don't need to explicitly include configurations
-                    // for javadoc or sources, just to ensure that the plugin can see them. The plugin will
-                    // get all javadocs and sources it can find for each dependency.
-                    final boolean attachSources = IvyIdeaConfigHelper.alwaysAttachSources(project);
-                    final boolean attachJavadocs = IvyIdeaConfigHelper.alwaysAttachJavadocs(project);
-                    if (attachSources || attachJavadocs) {
-                        final IvyNode node = configurationReport.getDependency(dependency);
-                        final ModuleDescriptor md = node.getDescriptor();
-                        final Artifact[] artifacts = md.getAllArtifacts();
-                        for (Artifact artifact : artifacts) {
-                            // TODO: if sources are found, don't bother attaching javadoc?
-                            // That way, IDEA will generate the javadoc and resolve links to other javadocs
-                            if ((attachSources && isSource(project, artifact))
-                                    || (attachJavadocs && isJavadoc(project, artifact))) {
-                                if (resolveReport.getArtifacts().contains(artifact)) {
-                                    continue; // already resolved, ignore.
-                                }
-
-                                // try to download
-                                ArtifactDownloadReport adr = ivy.getResolveEngine().download(artifact, new DownloadOptions());
-                                addExternalDependency(artifact, adr.getLocalFile(), resolvedConfiguration, project);
+        for (String resolvedConfiguration : resolveReport.getConfigurations()) {
+            registerProblems(extraction, resolveReport.getConfigurationReport(resolvedConfiguration), moduleDependencies, detectDependenciesOnOtherModulesWhileResolving);
+        }
+        final Map<ModuleRevisionId, List<ConfigurationResolveReport>> configurationsByRevision = groupByRevision(resolveReport);
+
+        // If activated manually download any missing javadoc or source dependencies,
+        // in case they weren't selected by the Ivy configuration.
+        // This means that dependencies in ivy.xml don't need to explicitly include configurations
+        // for javadoc or sources, just to ensure that the plugin can see them. The plugin will
+        // get all javadocs and sources it can find for each dependency.
+        // In lazy mode they are only recorded here; they get downloaded once the IDE asks for their sources.
+        final boolean attachSources = settings.isAlwaysAttachSources();
+        final boolean attachJavadocs = settings.isAlwaysAttachJavadocs();
+        final boolean lazyAttach = settings.isLazyAttachSourcesAndJavadocs();
+        final ResolvedArtifactIndex resolvedArtifacts = attachSources || attachJavadocs ? new ResolvedArtifactIndex(resolveReport) : null;
+
+        for (Map.Entry<ModuleRevisionId, List<ConfigurationResolveReport>> entry : configurationsByRevision.entrySet()) {
+            final ModuleRevisionId dependency = entry.getKey();
+            final List<ConfigurationResolveReport> configurationReports = entry.getValue();
+            if (detectDependenciesOnOtherModulesWhileResolving && moduleDependencies.isInternalIntellijModuleDependency(dependency.getModuleId())) {
+                // If the user has chosen to detect dependencies on internal modules we add a module dependency rather
+                // than a dependency on an external library.
+                extraction.dependencies.add(new InternalDependency(moduleDependencies.getModuleDependency(dependency.getModuleId())));
+                continue;
+            }
+
+            for (ConfigurationResolveReport configurationReport : configurationReports) {
+                for (ArtifactDownloadReport artifactDownloadReport : configurationReport.getDownloadReports(dependency)) {
+                    extraction.addExternalDependency(artifactDownloadReport.getArtifact(), artifactDownloadReport.getLocalFile(), configurationReport.getConfiguration());
+                }
+            }
+
+            if (attachSources || attachJavadocs) {
+                final IvyNode node = configurationReports.get(0).getDependency(dependency);
+                final ModuleDescriptor md = node.getDescriptor();
+                final Artifact[] artifacts = md.getAllArtifacts();
+                for (Artifact artifact : artifacts) {
+                    // TODO: if sources are found, don't bother attaching javadoc?
+                    // That way, IDEA will generate the javadoc and resolve links to other javadocs
+                    final ArtifactTypeSettings.DependencyCategory category = settings.getCategory(artifact);
+                    if ((attachSources && category == ArtifactTypeSettings.DependencyCategory.Sources)
+                            || (attachJavadocs && category == ArtifactTypeSettings.DependencyCategory.Javadoc)) {
+                        if (resolvedArtifacts.contains(artifact)) {
+                            continue; // already resolved, ignore.
+                        }
+
+                        if (lazyAttach) {
+                            final File cachedFile = IvyUtil.getCachedArtifactFile(ivy, artifact);
+                            for (ConfigurationResolveReport configurationReport : configurationReports) {
+                                extraction.dependencies.add(new LazyAttachDependency(artifact, category, cachedFile,
+                                        configurationReport.getConfiguration(), getLocalFiles(configurationReport.getDownloadReports(dependency))));
                             }
+                            continue;
                         }
+
+                        // try to download; the downloads run in the background while extraction continues
+                        extraction.pendingDownloads.add(new PendingDownload(artifact, getConfigurations(configurationReports),
+                                downloader.apply(artifact)));
                     }
                 }
             }
         }
+        return extraction;
     }
 
-    private void addExternalDependency(Artifact artifact, File artifactFile, String resolvedConfiguration, Project project) {
-        ExternalDependency externalDependency = ExternalDependencyFactory.getInstance().createExternalDependency(artifact, artifactFile, project, resolvedConfiguration);
-        if (externalDependency == null) {
-            resolveProblems.add(new ResolveProblem(
-                    artifact.getModuleRevisionId().toString(),
-                    "Unrecognized artifact type: " + artifact.getType() + ", will not add this as a dependency in IntelliJ.",
-                    null));
-            LOGGER.warning("Artifact of unrecognized type " + artifact.getType() + " found, *not* adding as a dependency.");
-        }
-        else if (externalDependency.isMissing()) {
-            resolveProblems.add(new ResolveProblem(
-                    artifact.getModuleRevisionId().toString(),
-                    "File not found: " + externalDependency.getLocalFile().getAbsolutePath())
-            );
-        } else {
-            resolvedDependencies.add(externalDependency);
+    /**
+     * Returns the reports of the configurations each module revision is part of, in the order in
+     * which the revisions were found.
+     */
+    private static Map<ModuleRevisionId, List<ConfigurationResolveReport>> groupByRevision(ResolveReport resolveReport) {
+        final Map<ModuleRevisionId, List<ConfigurationResolveReport>> configurationsByRevision = new LinkedHashMap<>();
+        for (String resolvedConfiguration : resolveReport.getConfigurations()) {
+            final ConfigurationResolveReport configurationReport = resolveReport.getConfigurationReport(resolvedConfiguration);
+            for (ModuleRevisionId dependency : configurationReport.getModuleRevisionIds()) {
+                configurationsByRevision.computeIfAbsent(dependency, key -> new ArrayList<>()).add(configurationReport);
+            }
         }
+        return configurationsByRevision;
     }
 
-    private boolean isSource(Project project, Artifact artifact) {
-        return ArtifactTypeSettings.DependencyCategory.Sources == ExternalDependencyFactory.determineCategory(project, artifact);
+    private static List<String> getConfigurations(List<ConfigurationResolveReport> configurationReports) {
+        final List<String> configurations = new ArrayList<>(configurationReports.size());
+        for (ConfigurationResolveReport configurationReport : configurationReports) {
+            configurations.add(configurationReport.getConfiguration());
+        }
+        return configurations;
     }
 
-    private boolean isJavadoc(Project project, Artifact artifact) {
-        return ArtifactTypeSettings.DependencyCategory.Javadoc == ExternalDependencyFactory.determineCategory(project, artifact);
+    /**
+     * Waits for the given downloads and adds the downloaded artifacts, in the order in which they were requested.
+     * The result is incomplete when the resolve is cancelled before every download was added.
+     */
+    private void addDownloadedDependencies(Module module) {
+        for (PendingDownload pendingDownload : extraction.pendingDownloads) {
+            final ArtifactDownloadReport downloadReport;
+            try {
+                downloadReport = pendingDownload.report.get();
+            } catch (InterruptedException e) {
+                // the resolve was cancelled
+                Thread.currentThread().interrupt();
+                complete = false;
+                return;
+            } catch (ExecutionException e) {
+                extraction.problems.add(new ResolveProblem(
+                        pendingDownload.artifact.getModuleRevisionId().toString(),
+                        "Unable to download " + pendingDownload.artifact.getName() + " (" + pendingDownload.artifact.getType() + ")",
+                        e.getCause()));
+                continue;
+            }
+            if (downloadReport == null) {
+                // skipped because the resolve was cancelled
+                complete = false;
+                continue;
+            }
+            statistics.addArtifacts(module.getName(), downloadReport);
+            for (String configuration : pendingDownload.configurations) {
+                extraction.addExternalDependency(pendingDownload.artifact, downloadReport.getLocalFile(), configuration);
+            }
+        }
+        if (downloadIndicator != null && downloadIndicator.isCanceled()) {
+            complete = false;
+        }
+    }
+
+    private static List<File> getLocalFiles(ArtifactDownloadReport[] artifactDownloadReports) {
+        final List<File> localFiles = new ArrayList<>();
+        for (ArtifactDownloadReport artifactDownloadReport : artifactDownloadReports) {
+            if (artifactDownloadReport.getLocalFile() != null) {
+                localFiles.add(artifactDownloadReport.getLocalFile());
+            }
+        }
+        return localFiles;
     }
 
-    private void registerProblems(ConfigurationResolveReport configurationReport, IntellijModuleDependencies moduleDependencies, boolean detectDependenciesOnOtherModulesWhileResolving) {
+    private static boolean hasDynamicRevisions(Ivy ivy, ResolveReport resolveReport) {
+        final VersionMatcher versionMatcher = ivy.getSettings().getVersionMatcher();
+        for (IvyNode node : resolveReport.getDependencies()) {
+            for (IvyNodeCallers.Caller caller : node.getAllCallers()) {
+                final DependencyDescriptor dependencyDescriptor = caller.getDependencyDescriptor();
+                if (dependencyDescriptor.isChanging() || versionMatcher.isDynamic(caller.getAskedDependencyId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void registerProblems(Extraction extraction, ConfigurationResolveReport configurationReport, IntellijModuleDependencies moduleDependencies, boolean detectDependenciesOnOtherModulesWhileResolving) {
         for (IvyNode unresolvedDependency : configurationReport.getUnresolvedDependencies()) {
             if (detectDependenciesOnOtherModulesWhileResolving && moduleDependencies.isInternalIntellijModuleDependency(unresolvedDependency.getModuleId())) {
                 // centralize  this!
-                resolvedDependencies.add(new InternalDependency(moduleDependencies.getModuleDependency(unresolvedDependency.getModuleId())));
+                extraction.dependencies.add(new InternalDependency(moduleDependencies.getModuleDependency(unresolvedDependency.getModuleId())));
             } else {
-                resolveProblems.add(new ResolveProblem(
+                extraction.problems.add(new ResolveProblem(
                         unresolvedDependency.getId().toString(),
                         unresolvedDependency.getProblemMessage(),
                         unresolvedDependency.getProblem()));
@@ -187,4 +332,57 @@ class DependencyResolver {
             }
         }
     }
+
+    /**
+     * The dependencies and problems found in a resolve report, and the downloads started for them.
+     */
+    static final class Extraction {
+        private final ResolveSettings settings;
+        private final List<ResolvedDependency> dependencies = new ArrayList<>();
+        private final List<ResolveProblem> problems = new ArrayList<>();
+        private final List<PendingDownload> pendingDownloads = new ArrayList<>();
+
+        private Extraction(ResolveSettings settings) {
+            this.settings = settings;
+        }
+
+        List<ResolvedDependency> getDependencies() {
+            return dependencies;
+        }
+
+        int getPendingDownloadCount() {
+            return pendingDownloads.size();
+        }
+
+        private void addExternalDependency(Artifact artifact, File artifactFile, String resolvedConfiguration) {
+            ExternalDependency externalDependency = ExternalDependencyFactory.getInstance().createExternalDependency(artifact, artifactFile, settings, resolvedConfiguration);
+            if (externalDependency == null) {
+                problems.add(new ResolveProblem(
+                        artifact.getModuleRevisionId().toString(),
+                        "Unrecognized artifact type: " + artifact.getType() + ", will not add this as a dependency in IntelliJ.",
+                        null));
+                LOGGER.warning("Artifact of unrecognized type " + artifact.getType() + " found, *not* adding as a dependency.");
+            }
+            else if (externalDependency.isMissing()) {
+                problems.add(new ResolveProblem(
+                        artifact.getModuleRevisionId().toString(),
+                        "File not found: " + externalDependency.getLocalFile().getAbsolutePath())
+                );
+            } else {
+                dependencies.add(externalDependency);
+            }
+        }
+    }
+
+    private static class PendingDownload {
+        private final Artifact artifact;
+        private final List<String> configurations;
+        private final Future<ArtifactDownloadReport> report;
+
+        PendingDownload(Artifact artifact, List<String> configurations, Future<ArtifactDownloadReport> report) {
+            this.artifact = artifact;
+            this.configurations = configurations;
+            this.report = report;
+        }
+    }
 }
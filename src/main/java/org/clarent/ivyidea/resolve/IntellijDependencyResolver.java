@@ -17,13 +17,16 @@
 package org.clarent.ivyidea.resolve;
 
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
 import org.clarent.ivyidea.exception.IvyFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
 import org.clarent.ivyidea.ivy.IvyManager;
 import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
 import org.clarent.ivyidea.resolve.problem.ResolveProblem;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,6 +41,8 @@ public class IntellijDependencyResolver {
     private Module module;
     private List<ResolvedDependency> dependencies = Collections.emptyList();
     private List<ResolveProblem> problems = Collections.emptyList();
+    private boolean reusedPreviousResult;
+    private boolean needsRepositoryResolve;
 
     private IvyManager ivyManager;
 
@@ -57,12 +62,69 @@ public class IntellijDependencyResolver {
         return dependencies;
     }
 
+    /**
+     * @return true if the dependencies were taken from a previous resolve, because nothing changed since
+     */
+    public boolean isReusedPreviousResult() {
+        return reusedPreviousResult;
+    }
+
+    /**
+     * @return true if the module was only resolved from the ivy cache, while the result may be
+     *         incomplete or outdated: it had problems or depends on dynamic or changing revisions
+     */
+    public boolean needsRepositoryResolve() {
+        return needsRepositoryResolve;
+    }
+
     public void resolve(final Module module) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        resolve(module, null);
+    }
+
+    /**
+     * Resolves the dependencies of the given module.
+     *
+     * @param module the module to resolve
+     * @param indicator the indicator on which the progress of downloads is reported, if any
+     */
+    public void resolve(final Module module, @Nullable ProgressIndicator indicator) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
         this.module = module;
+
+        ResolveResultCache resultCache = null;
+        String resultKey = null;
+        if (ivyManager.getResolveSettings().isReuseResolveResults()) {
+            resultCache = ResolveResultCache.getInstance(module.getProject());
+            resultKey = resultCache.computeKey(module, ivyManager);
+            if (resultKey != null) {
+                final List<ResolvedDependency> previousDependencies = resultCache.load(module, resultKey);
+                if (previousDependencies != null) {
+                    dependencies = Collections.unmodifiableList(previousDependencies);
+                    problems = Collections.emptyList();
+                    reusedPreviousResult = true;
+                    ivyManager.getStatistics().setReusedPreviousResult(module.getName());
+                    return;
+                }
+            }
+        }
+
         final DependencyResolver dependencyResolver = new DependencyResolver();
-        dependencyResolver.resolve(module, ivyManager);
+        dependencyResolver.resolve(module, ivyManager, indicator);
         dependencies = dependencyResolver.getResolvedDependencies();
         problems = dependencyResolver.getResolveProblems();
+        needsRepositoryResolve = dependencyResolver.isResolvedFromCacheOnly() && !dependencyResolver.isReusable();
+        if (resultCache != null) {
+            if (resultKey != null && dependencyResolver.isReusable()) {
+                resultCache.store(module, resultKey, dependencies);
+            } else {
+                resultCache.invalidate(module);
+            }
+        }
+    }
+
+    void addProblem(ResolveProblem problem) {
+        final List<ResolveProblem> allProblems = new ArrayList<>(problems);
+        allProblems.add(problem);
+        problems = Collections.unmodifiableList(allProblems);
     }
 
 }
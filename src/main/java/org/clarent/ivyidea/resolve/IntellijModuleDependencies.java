@@ -17,35 +17,37 @@
 package org.clarent.ivyidea.resolve;
 
 import com.intellij.openapi.module.Module;
-import org.apache.ivy.core.module.descriptor.DependencyDescriptor;
-import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
 import org.apache.ivy.core.module.id.ModuleId;
 import org.clarent.ivyidea.exception.IvySettingsFileReadException;
 import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
-import org.clarent.ivyidea.intellij.IntellijUtils;
 import org.clarent.ivyidea.ivy.IvyManager;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.logging.Logger;
 
 /**
  * Holds the link between IntelliJ {@link com.intellij.openapi.module.Module}s and ivy
  * {@link org.apache.ivy.core.module.id.ModuleRevisionId}s
+ * <p>
+ * The modules are looked up in the index of the {@link IvyManager} of the resolve run, so
+ * recognizing a dependency on another module is a single lookup. The index is only built when
+ * dependencies on other modules are detected.
  */
 class IntellijModuleDependencies {
 
     private static final Logger LOGGER = Logger.getLogger(IntellijModuleDependencies.class.getName());
 
-    private IvyManager ivyManager;
-    private Module module;
-    private Map<ModuleId, Module> moduleDependencies = new HashMap<ModuleId, Module>();
+    private final Module module;
+    private final Map<ModuleId, Module> modulesById;
 
     public IntellijModuleDependencies(Module module, IvyManager ivyManager) throws IvySettingsNotFoundException, IvySettingsFileReadException {
         this.module = module;
-        this.ivyManager = ivyManager;
-        fillModuleDependencies();
+        if (ivyManager.getResolveSettings().isDetectDependenciesOnOtherModules() && ivyManager.getModuleDescriptor(module) != null) {
+            this.modulesById = ivyManager.getModulesById(module.getProject());
+        } else {
+            this.modulesById = Collections.emptyMap();
+        }
     }
 
     public Module getModule() {
@@ -53,49 +55,15 @@ class IntellijModuleDependencies {
     }
 
     public boolean isInternalIntellijModuleDependency(ModuleId moduleId) {
-        return moduleDependencies.containsKey(moduleId);
+        final Module dependencyModule = modulesById.get(moduleId);
+        return dependencyModule != null && !dependencyModule.equals(module);
     }
 
     public Module getModuleDependency(ModuleId moduleId) {
-        return moduleDependencies.get(moduleId);
-    }
-
-    private void fillModuleDependencies() throws IvySettingsNotFoundException, IvySettingsFileReadException {
-        final ModuleDescriptor descriptor = ivyManager.getModuleDescriptor(module);
-        if (descriptor != null) {
-            final DependencyDescriptor[] ivyDependencies = descriptor.getDependencies();
-            for (Module dependencyModule : IntellijUtils.getAllModulesWithIvyIdeaFacet(module.getProject())) {
-                if (!module.equals(dependencyModule)) {
-                    for (DependencyDescriptor ivyDependency : ivyDependencies) {
-                        final ModuleId ivyDependencyId = ivyDependency.getDependencyId();
-                        final ModuleId dependencyModuleId = getModuleId(dependencyModule);
-                        if (ivyDependencyId.equals(dependencyModuleId)) {
-                            LOGGER.info("Recognized dependency " + ivyDependency + " as intellij module '" + dependencyModule.getName() + "' in this project!");
-                            moduleDependencies.put(dependencyModuleId, dependencyModule);
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    @Nullable
-    private ModuleId getModuleId(Module module) throws IvySettingsNotFoundException, IvySettingsFileReadException {
-        if (!moduleDependencies.containsValue(module)) {
-            final ModuleDescriptor ivyModuleDescriptor = ivyManager.getModuleDescriptor(module);
-            if (ivyModuleDescriptor != null) {
-                moduleDependencies.put(ivyModuleDescriptor.getModuleRevisionId().getModuleId(), module);
-            }
-
-        }
-        for (ModuleId moduleId : moduleDependencies.keySet()) {
-            if (module.equals(moduleDependencies.get(moduleId))) {
-                return moduleId;
-            }
+        final Module dependencyModule = modulesById.get(moduleId);
+        if (dependencyModule != null) {
+            LOGGER.info("Recognized dependency on " + moduleId + " as intellij module '" + dependencyModule.getName() + "' in this project!");
         }
-        return null;
+        return dependencyModule;
     }
-
-
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.apache.ivy.core.module.descriptor.DependencyDescriptor;
+import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
+import org.apache.ivy.core.module.id.ModuleId;
+import org.clarent.ivyidea.exception.IvyFileReadException;
+import org.clarent.ivyidea.exception.IvySettingsFileReadException;
+import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.intellij.task.ProgressMonitorThread;
+import org.clarent.ivyidea.ivy.IvyManager;
+import org.clarent.ivyidea.resolve.problem.ResolveProblem;
+import org.clarent.ivyidea.util.DependencyGraph;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the dependencies of a number of modules, using up to the given number of worker
+ * threads.
+ * <p>
+ * When dependencies on other modules are detected, a module is only resolved after the modules
+ * it depends on; independent modules are resolved at the same time. The resolvers are always
+ * returned in the order in which the modules were given, so the IntelliJ model gets updated in
+ * the same way whatever the order in which the individual resolves finished.
+ */
+public class MultiModuleResolver {
+
+    private static final Logger LOGGER = Logger.getLogger(MultiModuleResolver.class.getName());
+
+    private final IvyManager ivyManager;
+    private final int parallelism;
+
+    public MultiModuleResolver(IvyManager ivyManager, int parallelism) {
+        this.ivyManager = ivyManager;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Resolves the given modules. When the progress indicator gets cancelled, the modules that
+     * were not resolved yet are skipped, so the result can be incomplete in that case.
+     *
+     * @param modules the modules to resolve
+     * @param indicator the progress indicator of the resolve task
+     * @param monitorThread the thread that interrupts running resolves when the indicator is cancelled
+     * @return the resolvers of all modules that were resolved, in the order of the given modules
+     */
+    @NotNull
+    public List<IntellijDependencyResolver> resolve(@NotNull List<Module> modules, @NotNull ProgressIndicator indicator,
+                                                    @NotNull ProgressMonitorThread monitorThread) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        if (modules.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final DependencyGraph<Module> moduleGraph;
+        if (ivyManager.getResolveSettings().isDetectDependenciesOnOtherModules()) {
+            indicator.setText2("Detecting dependencies between modules");
+            moduleGraph = createModuleGraph(modules, ivyManager);
+        } else {
+            moduleGraph = new DependencyGraph<>(modules);
+        }
+
+        ivyManager.getArtifactDownloader().setMonitorThread(monitorThread);
+        final Map<Module, IntellijDependencyResolver> resolvers;
+        if (parallelism <= 1 || modules.size() <= 1) {
+            resolvers = resolveSequentially(moduleGraph, indicator, monitorThread);
+        } else {
+            resolvers = resolveInParallel(moduleGraph, indicator, monitorThread);
+        }
+        reportCycles(moduleGraph, resolvers);
+
+        final List<IntellijDependencyResolver> result = new ArrayList<>();
+        for (Module module : modules) {
+            if (resolvers.containsKey(module)) {
+                result.add(resolvers.get(module));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the graph of the dependencies between the given modules, based on the dependencies
+     * declared in their ivy files.
+     */
+    @NotNull
+    public static DependencyGraph<Module> createModuleGraph(@NotNull List<Module> modules, @NotNull IvyManager ivyManager) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        final Map<Module, ModuleDescriptor> descriptors = new LinkedHashMap<>();
+        final Map<ModuleId, Module> modulesById = new HashMap<>();
+        for (Module module : modules) {
+            final ModuleDescriptor descriptor = ivyManager.getModuleDescriptor(module);
+            if (descriptor != null) {
+                descriptors.put(module, descriptor);
+                modulesById.put(descriptor.getModuleRevisionId().getModuleId(), module);
+            }
+        }
+
+        final DependencyGraph<Module> moduleGraph = new DependencyGraph<>(modules);
+        for (Map.Entry<Module, ModuleDescriptor> entry : descriptors.entrySet()) {
+            for (DependencyDescriptor dependency : entry.getValue().getDependencies()) {
+                final Module prerequisite = modulesById.get(dependency.getDependencyId());
+                if (prerequisite != null) {
+                    moduleGraph.addDependency(entry.getKey(), prerequisite);
+                }
+            }
+        }
+        return moduleGraph;
+    }
+
+    private Map<Module, IntellijDependencyResolver> resolveSequentially(DependencyGraph<Module> moduleGraph, ProgressIndicator indicator, ProgressMonitorThread monitorThread) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        final Map<Module, IntellijDependencyResolver> resolvers = new HashMap<>();
+        for (final Module module : moduleGraph.getTopologicalOrder()) {
+            monitorThread.setIvy(ivyManager.getIvy(module));
+            indicator.setText2("Resolving for module " + module.getName());
+            final IntellijDependencyResolver resolver = new IntellijDependencyResolver(ivyManager);
+            resolver.resolve(module, indicator);
+            resolvers.put(module, resolver);
+
+            if (indicator.isCanceled()) {
+                break;
+            }
+        }
+        return resolvers;
+    }
+
+    private Map<Module, IntellijDependencyResolver> resolveInParallel(DependencyGraph<Module> moduleGraph, ProgressIndicator indicator, ProgressMonitorThread monitorThread) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        final Set<Module> modules = moduleGraph.getNodes();
+        final int threadCount = Math.min(parallelism, modules.size());
+        LOGGER.info("Resolving " + modules.size() + " modules using " + threadCount + " threads");
+
+        // Use dedicated threads rather than a shared pool: when a resolve does not react to an interrupt
+        // in time, Ivy stops the thread it is running on.
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+                runnable -> new Thread(runnable, "IvyIDEA Resolve Worker " + threadNumber.incrementAndGet()));
+        try {
+            final CompletionService<IntellijDependencyResolver> completionService = new ExecutorCompletionService<>(executor);
+            final Map<Future<IntellijDependencyResolver>, Module> running = new HashMap<>();
+            final Map<Module, Integer> remainingPrerequisites = new HashMap<>();
+            for (Module module : modules) {
+                final int prerequisiteCount = moduleGraph.getPrerequisites(module).size();
+                remainingPrerequisites.put(module, prerequisiteCount);
+                if (prerequisiteCount == 0) {
+                    running.put(completionService.submit(() -> resolveModule(module, indicator, monitorThread)), module);
+                }
+            }
+
+            indicator.setIndeterminate(false);
+            final Map<Module, IntellijDependencyResolver> resolvers = new HashMap<>();
+            final Map<Module, ExecutionException> failures = new HashMap<>();
+            while (!running.isEmpty()) {
+                final Future<IntellijDependencyResolver> future = completionService.take();
+                final Module module = running.remove(future);
+                final IntellijDependencyResolver resolver;
+                try {
+                    resolver = future.get();
+                } catch (ExecutionException e) {
+                    failures.put(module, e);
+                    continue;
+                }
+                if (resolver == null) {
+                    continue; // cancelled before it started
+                }
+
+                resolvers.put(module, resolver);
+                indicator.setFraction((double) resolvers.size() / modules.size());
+                indicator.setText2("Resolved " + resolvers.size() + " of " + modules.size() + " modules");
+
+                // Start the modules that were only waiting for this one, unless the resolve will be aborted anyway
+                if (failures.isEmpty() && !indicator.isCanceled()) {
+                    for (Module dependent : moduleGraph.getDependents(module)) {
+                        if (remainingPrerequisites.merge(dependent, -1, Integer::sum) == 0) {
+                            running.put(completionService.submit(() -> resolveModule(dependent, indicator, monitorThread)), dependent);
+                        }
+                    }
+                }
+            }
+
+            // Report the failure of the first module, as a sequential resolve would
+            for (Module module : modules) {
+                if (failures.containsKey(module)) {
+                    rethrow(failures.get(module));
+                }
+            }
+            return resolvers;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Nullable
+    private IntellijDependencyResolver resolveModule(Module module, ProgressIndicator indicator, ProgressMonitorThread monitorThread) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        if (indicator.isCanceled()) {
+            return null;
+        }
+        final Thread currentThread = Thread.currentThread();
+        monitorThread.register(currentThread, ivyManager.getIvy(module));
+        try {
+            final IntellijDependencyResolver resolver = new IntellijDependencyResolver(ivyManager);
+            resolver.resolve(module, indicator);
+            return resolver;
+        } finally {
+            monitorThread.unregister(currentThread);
+        }
+    }
+
+    private static void reportCycles(DependencyGraph<Module> moduleGraph, Map<Module, IntellijDependencyResolver> resolvers) {
+        for (List<Module> cycle : moduleGraph.getCycles()) {
+            final List<String> moduleNames = new ArrayList<>();
+            for (Module module : cycle) {
+                moduleNames.add(module.getName());
+            }
+            LOGGER.warning("Circular dependency detected between modules " + moduleNames);
+            for (Module module : cycle) {
+                final IntellijDependencyResolver resolver = resolvers.get(module);
+                if (resolver != null) {
+                    resolver.addProblem(new ResolveProblem(module.getName(),
+                            "Circular dependency between modules " + moduleNames + "; these modules were resolved without waiting for each other."));
+                }
+            }
+        }
+    }
+
+    private static void rethrow(ExecutionException e) throws IvySettingsNotFoundException, IvyFileReadException, IvySettingsFileReadException {
+        final Throwable cause = e.getCause();
+        if (cause instanceof IvySettingsNotFoundException) {
+            throw (IvySettingsNotFoundException) cause;
+        }
+        if (cause instanceof IvyFileReadException) {
+            throw (IvyFileReadException) cause;
+        }
+        if (cause instanceof IvySettingsFileReadException) {
+            throw (IvySettingsFileReadException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new RuntimeException(cause);
+    }
+}
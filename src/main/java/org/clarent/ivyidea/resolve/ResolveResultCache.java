@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.module.descriptor.DefaultArtifact;
+import org.apache.ivy.core.module.descriptor.ModuleDescriptor;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.apache.ivy.core.resolve.ResolveOptions;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.config.ResolveSettings;
+import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
+import org.clarent.ivyidea.exception.IvySettingsFileReadException;
+import org.clarent.ivyidea.exception.IvySettingsNotFoundException;
+import org.clarent.ivyidea.intellij.IntellijUtils;
+import org.clarent.ivyidea.ivy.IvyEngineCache;
+import org.clarent.ivyidea.ivy.IvyManager;
+import org.clarent.ivyidea.ivy.IvyUtil;
+import org.clarent.ivyidea.ivy.RemoteSettingsCache;
+import org.clarent.ivyidea.resolve.dependency.ExternalDependency;
+import org.clarent.ivyidea.resolve.dependency.ExternalDependencyFactory;
+import org.clarent.ivyidea.resolve.dependency.InternalDependency;
+import org.clarent.ivyidea.resolve.dependency.LazyAttachDependency;
+import org.clarent.ivyidea.resolve.dependency.ResolvedDependency;
+import org.clarent.ivyidea.util.Fingerprint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Stores the dependencies found by the last resolve of each module on disk, so they can be
+ * reused as long as nothing that influences the resolve has changed.
+ * <p>
+ * The stored result of a module is only used when its key matches; the key is a hash of the
+ * ivy file, the resolve options, the ivy settings file and the local files it includes, the
+ * injected properties and the IvyIDEA settings that influence which dependencies are created. Of
+ * an ivy settings file loaded over http the local copy kept by the {@link RemoteSettingsCache} is
+ * taken into account. Changes in the repositories are not detected; that is why results depending
+ * on dynamic or changing revisions are never stored.
+ */
+public class ResolveResultCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ResolveResultCache.class.getName());
+
+    private static final int FORMAT_VERSION = 3;
+    private static final byte INTERNAL_DEPENDENCY = 'M';
+    private static final byte EXTERNAL_DEPENDENCY = 'E';
+    private static final byte LAZY_ATTACH_DEPENDENCY = 'L';
+
+    private final Project project;
+    private final File cacheDir;
+
+    public ResolveResultCache(Project project) {
+        this.project = project;
+        this.cacheDir = new File(PathManager.getSystemPath(), "ivyidea/resolve-results/" + project.getLocationHash());
+    }
+
+    public static ResolveResultCache getInstance(Project project) {
+        return project.getService(ResolveResultCache.class);
+    }
+
+    /**
+     * Computes the key under which the resolve result of the given module is stored.
+     *
+     * @return the key, or null if the module has no ivy file
+     */
+    @Nullable
+    public String computeKey(@NotNull Module module, @NotNull IvyManager ivyManager) throws IvySettingsNotFoundException, IvySettingsFileReadException {
+        final File ivyFile = IvyUtil.getIvyFile(module);
+        if (ivyFile == null || !ivyFile.isFile()) {
+            return null;
+        }
+        final ResolveSettings settings = ivyManager.getResolveSettings();
+        final Fingerprint fingerprint = new Fingerprint().add(String.valueOf(FORMAT_VERSION));
+        try {
+            fingerprint.add(ivyFile.getAbsolutePath()).addContents(ivyFile);
+
+            final ResolveOptions resolveOptions = IvyIdeaConfigHelper.createResolveOptions(module, settings);
+            fingerprint.add(resolveOptions.getConfs())
+                    .add(resolveOptions.isValidate())
+                    .add(resolveOptions.isTransitive())
+                    .add(resolveOptions.isUseCacheOnly());
+
+            final String settingsFile = IvyIdeaConfigHelper.getIvySettingsFile(module);
+            fingerprint.add(settingsFile).addContents(IvyIdeaConfigHelper.getLocalSettingsFile(settingsFile))
+                    .add(RemoteSettingsCache.getInstance(project).getContentHash(settingsFile));
+            // the files included by the settings are known once the engine has been configured
+            ivyManager.getIvy(module);
+            fingerprint.add(IvyEngineCache.getInstance(project).getSettingsFilesHash(module));
+            fingerprint.add(IvyIdeaConfigHelper.getIvyProperties(module));
+        } catch (IOException e) {
+            LOGGER.info("Unable to compute the resolve result key for module " + module.getName() + ": " + e);
+            return null;
+        }
+
+        fingerprint.add(settings.isAlwaysAttachSources())
+                .add(settings.isAlwaysAttachJavadocs())
+                .add(settings.isLazyAttachSourcesAndJavadocs());
+        final ArtifactTypeSettings artifactTypeSettings = settings.getArtifactTypeSettings();
+        for (ArtifactTypeSettings.DependencyCategory category : ArtifactTypeSettings.DependencyCategory.values()) {
+            fingerprint.add(artifactTypeSettings.getTypesStringForCategory(category));
+        }
+
+        // Whether a dependency becomes a module dependency depends on the ivy files of the other modules
+        final boolean detectModuleDependencies = settings.isDetectDependenciesOnOtherModules();
+        fingerprint.add(detectModuleDependencies);
+        if (detectModuleDependencies) {
+            final Map<String, String> moduleIds = new TreeMap<>();
+            for (Module otherModule : IntellijUtils.getAllModulesWithIvyIdeaFacet(project)) {
+                if (!otherModule.equals(module)) {
+                    final ModuleDescriptor descriptor = ivyManager.getModuleDescriptor(otherModule);
+                    moduleIds.put(otherModule.getName(), descriptor == null ? null : descriptor.getModuleRevisionId().getModuleId().toString());
+                }
+            }
+            for (Map.Entry<String, String> entry : moduleIds.entrySet()) {
+                fingerprint.add(entry.getKey()).add(entry.getValue());
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Returns the dependencies stored for the given module, if they were stored with the given
+     * key and all files and modules they refer to still exist.
+     */
+    @Nullable
+    public List<ResolvedDependency> load(@NotNull Module module, @NotNull String key) {
+        final File file = getCacheFile(module);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+            final int count = in.readInt();
+            final List<ResolvedDependency> dependencies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final ResolvedDependency dependency = readDependency(in);
+                if (dependency == null) {
+                    return null;
+                }
+                dependencies.add(dependency);
+            }
+            return dependencies;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.info("Ignoring unreadable resolve result " + file.getAbsolutePath() + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the dependencies of the given module under the given key.
+     */
+    public void store(@NotNull Module module, @NotNull String key, @NotNull List<ResolvedDependency> dependencies) {
+        final File file = getCacheFile(module);
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            FileUtil.createParentDirs(file);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                out.writeInt(dependencies.size());
+                for (ResolvedDependency dependency : dependencies) {
+                    writeDependency(out, dependency);
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warning("Unable to store the resolve result of module " + module.getName() + ": " + e);
+            FileUtil.delete(tempFile);
+            FileUtil.delete(file);
+        }
+    }
+
+    /**
+     * Forgets the stored result of the given module.
+     */
+    public void invalidate(@NotNull Module module) {
+        FileUtil.delete(getCacheFile(module));
+    }
+
+    private File getCacheFile(Module module) {
+        final String name = module.getName();
+        return new File(cacheDir, FileUtil.sanitizeFileName(name) + "-" + Integer.toHexString(name.hashCode()) + ".bin");
+    }
+
+    private static void writeDependency(DataOutputStream out, ResolvedDependency dependency) throws IOException {
+        if (dependency instanceof InternalDependency) {
+            out.writeByte(INTERNAL_DEPENDENCY);
+            out.writeUTF(((InternalDependency) dependency).getModule().getName());
+        } else if (dependency instanceof ExternalDependency) {
+            final ExternalDependency externalDependency = (ExternalDependency) dependency;
+            final Artifact artifact = externalDependency.getArtifact();
+            final ModuleRevisionId mrid = artifact.getModuleRevisionId();
+            out.writeByte(dependency instanceof LazyAttachDependency ? LAZY_ATTACH_DEPENDENCY : EXTERNAL_DEPENDENCY);
+            out.writeUTF(externalDependency.getCategory().name());
+            out.writeUTF(externalDependency.getConfigurationName());
+            writeNullable(out, mrid.getOrganisation());
+            writeNullable(out, mrid.getName());
+            writeNullable(out, mrid.getBranch());
+            writeNullable(out, mrid.getRevision());
+            writeAttributes(out, mrid.getQualifiedExtraAttributes());
+            writeNullable(out, artifact.getName());
+            writeNullable(out, artifact.getType());
+            writeNullable(out, artifact.getExt());
+            writeNullable(out, artifact.getUrl() == null ? null : artifact.getUrl().toExternalForm());
+            // the extra attributes, like the classifier, are needed to download the artifact again
+            writeAttributes(out, artifact.getQualifiedExtraAttributes());
+            final File localFile = externalDependency.getLocalFile();
+            writeNullable(out, localFile == null ? null : localFile.getAbsolutePath());
+            if (dependency instanceof LazyAttachDependency) {
+                final List<File> classesFiles = ((LazyAttachDependency) dependency).getClassesFiles();
+                out.writeInt(classesFiles.size());
+                for (File classesFile : classesFiles) {
+                    out.writeUTF(classesFile.getAbsolutePath());
+                }
+            }
+        } else {
+            throw new IOException("Unsupported dependency type: " + dependency.getClass().getName());
+        }
+    }
+
+    @Nullable
+    private ResolvedDependency readDependency(DataInputStream in) throws IOException {
+        final byte kind = in.readByte();
+        if (kind == INTERNAL_DEPENDENCY) {
+            final Module module = ModuleManager.getInstance(project).findModuleByName(in.readUTF());
+            return IntellijUtils.containsIvyIdeaFacet(module) ? new InternalDependency(module) : null;
+        }
+        if (kind == EXTERNAL_DEPENDENCY || kind == LAZY_ATTACH_DEPENDENCY) {
+            final ArtifactTypeSettings.DependencyCategory category = ArtifactTypeSettings.DependencyCategory.valueOf(in.readUTF());
+            final String configurationName = in.readUTF();
+            final ModuleRevisionId mrid = ModuleRevisionId.newInstance(readNullable(in), readNullable(in), readNullable(in),
+                    readNullable(in), readAttributes(in));
+            final String name = readNullable(in);
+            final String type = readNullable(in);
+            final String ext = readNullable(in);
+            final String url = readNullable(in);
+            final Artifact artifact = new DefaultArtifact(mrid, null, name, type, ext, url == null ? null : new URL(url), readAttributes(in));
+            final String localPath = readNullable(in);
+            final File localFile = localPath == null ? null : new File(localPath);
+            if (kind == LAZY_ATTACH_DEPENDENCY) {
+                final int classesFileCount = in.readInt();
+                final List<File> classesFiles = new ArrayList<>(classesFileCount);
+                for (int i = 0; i < classesFileCount; i++) {
+                    classesFiles.add(new File(in.readUTF()));
+                }
+                // unlike regular artifacts, these are not expected to be in the ivy cache yet
+                return new LazyAttachDependency(artifact, category, localFile, configurationName, classesFiles);
+            }
+            if (localFile != null && !localFile.exists()) {
+                return null; // removed from the ivy cache in the meantime
+            }
+            return ExternalDependencyFactory.getInstance().createExternalDependency(category, artifact, localFile, configurationName);
+        }
+        throw new IOException("Unknown dependency kind: " + kind);
+    }
+
+    private static void writeNullable(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    @Nullable
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeAttributes(DataOutputStream out, Map<String, String> attributes) throws IOException {
+        out.writeInt(attributes.size());
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            out.writeUTF(attribute.getKey());
+            writeNullable(out, attribute.getValue());
+        }
+    }
+
+    private static Map<String, String> readAttributes(DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        final Map<String, String> attributes = new HashMap<>(count);
+        for (int i = 0; i < count; i++) {
+            attributes.put(in.readUTF(), readNullable(in));
+        }
+        return attributes;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import org.apache.ivy.core.report.ArtifactDownloadReport;
+import org.apache.ivy.core.report.DownloadStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Timings and counters of a single resolve run, per module.
+ * <p>
+ * The time spent in each {@link Phase} is recorded in wall clock time, so the phases of modules
+ * that are resolved in parallel overlap. Instances can be shared between the threads of a
+ * parallel resolve.
+ */
+public class ResolveStatistics {
+
+    public enum Phase {
+        SETTINGS("Settings"),
+        PARSE("Parse"),
+        RESOLVE("Resolve"),
+        EXTRACT("Extract"),
+        DOWNLOAD("Download"),
+        MODEL_UPDATE("Model update");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final long startNanos;
+    private long endNanos;
+    private boolean finished;
+    private final Map<String, ModuleStatistics> moduleStatistics = new LinkedHashMap<>();
+
+    public ResolveStatistics() {
+        this(System.nanoTime());
+    }
+
+    ResolveStatistics(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Adds the given time to the time spent by the given module in the given phase.
+     */
+    public synchronized void addTime(@NotNull String moduleName, @NotNull Phase phase, long nanos) {
+        getModuleStatistics(moduleName).phaseNanos.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Counts the given artifacts of the given module as either downloaded or taken from the cache.
+     */
+    public synchronized void addArtifacts(@NotNull String moduleName, @NotNull ArtifactDownloadReport... artifactDownloadReports) {
+        final ModuleStatistics statistics = getModuleStatistics(moduleName);
+        for (ArtifactDownloadReport artifactDownloadReport : artifactDownloadReports) {
+            statistics.artifacts++;
+            final DownloadStatus downloadStatus = artifactDownloadReport.getDownloadStatus();
+            if (downloadStatus == DownloadStatus.SUCCESSFUL) {
+                statistics.downloadedArtifacts++;
+                statistics.downloadedBytes += Math.max(0, artifactDownloadReport.getSize());
+            } else if (downloadStatus == DownloadStatus.NO) {
+                statistics.cachedArtifacts++;
+            }
+        }
+    }
+
+    /**
+     * Marks the dependencies of the given module as taken from a previous resolve.
+     */
+    public synchronized void setReusedPreviousResult(@NotNull String moduleName) {
+        getModuleStatistics(moduleName).reusedPreviousResult = true;
+    }
+
+    /**
+     * Marks the end of the run; the total time of the run is measured up to this point.
+     */
+    public synchronized void finish() {
+        finish(System.nanoTime());
+    }
+
+    synchronized void finish(long endNanos) {
+        this.endNanos = endNanos;
+        finished = true;
+    }
+
+    private ModuleStatistics getModuleStatistics(String moduleName) {
+        return moduleStatistics.computeIfAbsent(moduleName, name -> new ModuleStatistics());
+    }
+
+    /**
+     * Formats the statistics as a table with a line per module, for the IvyIDEA console.
+     */
+    @NotNull
+    public synchronized String formatSummary() {
+        final List<String> headers = new ArrayList<>();
+        headers.add("Module");
+        for (Phase phase : Phase.values()) {
+            headers.add(phase.getDisplayName() + " (ms)");
+        }
+        headers.addAll(Arrays.asList("Artifacts", "Downloaded", "Downloaded (KB)", "Cache hits"));
+
+        final List<List<String>> rows = new ArrayList<>();
+        rows.add(headers);
+        for (Map.Entry<String, ModuleStatistics> entry : moduleStatistics.entrySet()) {
+            final ModuleStatistics statistics = entry.getValue();
+            final List<String> row = new ArrayList<>();
+            row.add(statistics.reusedPreviousResult ? entry.getKey() + " (reused)" : entry.getKey());
+            for (Phase phase : Phase.values()) {
+                row.add(String.valueOf(statistics.getMillis(phase)));
+            }
+            row.add(String.valueOf(statistics.artifacts));
+            row.add(String.valueOf(statistics.downloadedArtifacts));
+            row.add(String.valueOf((statistics.downloadedBytes + 1023) / 1024));
+            final Double cacheHitRate = statistics.getCacheHitRate();
+            row.add(cacheHitRate == null ? "-" : Math.round(cacheHitRate * 100) + "%");
+            rows.add(row);
+        }
+
+        final int[] widths = new int[headers.size()];
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                widths[i] = Math.max(widths[i], row.get(i).length());
+            }
+        }
+
+        final StringBuilder summary = new StringBuilder();
+        summary.append("Resolve statistics (total ").append(getTotalMillis()).append(" ms):\n");
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                if (i == 0) {
+                    summary.append(String.format("%-" + widths[i] + "s", row.get(i)));
+                } else {
+                    summary.append("  ").append(String.format("%" + widths[i] + "s", row.get(i)));
+                }
+            }
+            summary.append('\n');
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Formats the statistics as a JSON document, for analysis outside the IDE.
+     */
+    @NotNull
+    public synchronized String toJson() {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n  \"totalMillis\": ").append(getTotalMillis()).append(",\n  \"modules\": [");
+        boolean firstModule = true;
+        for (Map.Entry<String, ModuleStatistics> entry : moduleStatistics.entrySet()) {
+            final ModuleStatistics statistics = entry.getValue();
+            json.append(firstModule ? "\n" : ",\n");
+            firstModule = false;
+            json.append("    {\n");
+            json.append("      \"name\": ").append(quote(entry.getKey())).append(",\n");
+            json.append("      \"reusedPreviousResult\": ").append(statistics.reusedPreviousResult).append(",\n");
+            json.append("      \"phaseMillis\": {");
+            boolean firstPhase = true;
+            for (Phase phase : Phase.values()) {
+                json.append(firstPhase ? "" : ", ");
+                firstPhase = false;
+                json.append(quote(phase.name().toLowerCase(Locale.ROOT))).append(": ").append(statistics.getMillis(phase));
+            }
+            json.append("},\n");
+            json.append("      \"artifacts\": ").append(statistics.artifacts).append(",\n");
+            json.append("      \"downloadedArtifacts\": ").append(statistics.downloadedArtifacts).append(",\n");
+            json.append("      \"downloadedBytes\": ").append(statistics.downloadedBytes).append(",\n");
+            json.append("      \"cachedArtifacts\": ").append(statistics.cachedArtifacts).append(",\n");
+            final Double cacheHitRate = statistics.getCacheHitRate();
+            json.append("      \"cacheHitRate\": ").append(cacheHitRate == null ? "null" : String.format(Locale.ROOT, "%.3f", cacheHitRate)).append('\n');
+            json.append("    }");
+        }
+        json.append(firstModule ? "]\n}\n" : "\n  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * @return the wall clock time of the whole run up to its end, or up to now if it did not end yet
+     */
+    public synchronized long getTotalMillis() {
+        return ((finished ? endNanos : System.nanoTime()) - startNanos) / 1_000_000;
+    }
+
+    private static String quote(String value) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static class ModuleStatistics {
+        private final Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+        private boolean reusedPreviousResult;
+        private int artifacts;
+        private int downloadedArtifacts;
+        private long downloadedBytes;
+        private int cachedArtifacts;
+
+        private long getMillis(Phase phase) {
+            return phaseNanos.getOrDefault(phase, 0L) / 1_000_000;
+        }
+
+        /**
+         * The fraction of the artifacts that did not need to be downloaded, or null if there was nothing to download.
+         */
+        private Double getCacheHitRate() {
+            final int total = downloadedArtifacts + cachedArtifacts;
+            return total == 0 ? null : (double) cachedArtifacts / total;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.report.ResolveReport;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The artifacts of a resolve report in a hash based set.
+ * <p>
+ * {@link ResolveReport#getArtifacts()} is a list, so checking the artifacts of every dependency
+ * against it is quadratic in the number of artifacts. This index is built once per resolve and
+ * answers in constant time. It relies on the equality of the artifacts themselves, which
+ * includes their publication date, so it gives the same answers as the list.
+ */
+class ResolvedArtifactIndex {
+
+    private final Set<Artifact> artifacts;
+
+    ResolvedArtifactIndex(@NotNull ResolveReport resolveReport) {
+        this(resolveReport.getArtifacts());
+    }
+
+    ResolvedArtifactIndex(@NotNull Collection<Artifact> artifacts) {
+        this.artifacts = new HashSet<>(artifacts);
+    }
+
+    public boolean contains(@NotNull Artifact artifact) {
+        return artifacts.contains(artifact);
+    }
+
+    public int size() {
+        return artifacts.size();
+    }
+}
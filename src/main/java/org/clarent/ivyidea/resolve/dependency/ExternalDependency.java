@@ -17,10 +17,9 @@
 package org.clarent.ivyidea.resolve.dependency;
 
 import com.intellij.openapi.roots.OrderRootType;
-import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VfsUtil;
-import com.intellij.util.PathUtil;
 import org.apache.ivy.core.module.descriptor.Artifact;
+import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
 import org.clarent.ivyidea.intellij.model.IntellijModuleWrapper;
 
 import java.io.File;
@@ -45,6 +44,10 @@ public abstract class ExternalDependency implements ResolvedDependency {
         this.configurationName = configurationName;
     }
 
+    public Artifact getArtifact() {
+        return artifact;
+    }
+
     public File getLocalFile() {
         return localFile;
     }
@@ -79,16 +82,9 @@ public abstract class ExternalDependency implements ResolvedDependency {
         return localFile != null && !new File(localFile.getAbsolutePath()).exists();
     }
 
-    public boolean isSameDependency(String url) {
-        if (localFile == null) {
-            return false;
-        }
-
-        final String path = PathUtil.toPresentableUrl(url);
-        return FileUtil.filesEqual(localFile, new File(path));
-    }
-
     public abstract OrderRootType getType();
 
+    public abstract ArtifactTypeSettings.DependencyCategory getCategory();
+
     protected abstract String getTypeName();
 }
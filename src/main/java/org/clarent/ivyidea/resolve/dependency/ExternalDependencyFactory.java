@@ -16,9 +16,8 @@
 
 package org.clarent.ivyidea.resolve.dependency;
 
-import com.intellij.openapi.project.Project;
 import org.apache.ivy.core.module.descriptor.Artifact;
-import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.config.ResolveSettings;
 import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -38,28 +37,25 @@ public class ExternalDependencyFactory {
 
     @Nullable
     public ExternalDependency createExternalDependency(@NotNull Artifact artifact, @Nullable File file,
-                                                       @NotNull Project project, @NotNull final String configurationName) {
-        final ArtifactTypeSettings.DependencyCategory category = determineCategory(project, artifact);
+                                                       @NotNull ResolveSettings settings, @NotNull final String configurationName) {
+        final ArtifactTypeSettings.DependencyCategory category = settings.getCategory(artifact);
         if (category != null) {
-            switch (category) {
-                case Classes:
-                    return new ExternalJarDependency(artifact, file, configurationName);
-                case Sources:
-                    return new ExternalSourceDependency(artifact, file, configurationName);
-                case Javadoc:
-                    return new ExternalJavaDocDependency(artifact, file, configurationName);
-            }
+            return createExternalDependency(category, artifact, file, configurationName);
         }
         return null;
     }
 
-    @Nullable
-    public static ArtifactTypeSettings.DependencyCategory determineCategory(@NotNull Project project, @NotNull Artifact artifact) {
-        final ArtifactTypeSettings typeSettings = IvyIdeaConfigHelper.getArtifactTypeSettings(project);
-        if (typeSettings == null) {
-            return null;
+    @NotNull
+    public ExternalDependency createExternalDependency(@NotNull ArtifactTypeSettings.DependencyCategory category, @NotNull Artifact artifact,
+                                                       @Nullable File file, @NotNull final String configurationName) {
+        switch (category) {
+            case Sources:
+                return new ExternalSourceDependency(artifact, file, configurationName);
+            case Javadoc:
+                return new ExternalJavaDocDependency(artifact, file, configurationName);
+            default:
+                return new ExternalJarDependency(artifact, file, configurationName);
         }
-        return typeSettings.getCategoryForType(artifact.getType());
     }
 
 }
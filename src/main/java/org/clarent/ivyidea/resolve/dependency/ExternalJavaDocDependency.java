@@ -19,6 +19,7 @@ package org.clarent.ivyidea.resolve.dependency;
 import com.intellij.openapi.roots.JavadocOrderRootType;
 import com.intellij.openapi.roots.OrderRootType;
 import org.apache.ivy.core.module.descriptor.Artifact;
+import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
 
 import java.io.File;
 
@@ -40,4 +41,8 @@ public class ExternalJavaDocDependency extends ExternalDependency {
         return JavadocOrderRootType.getInstance();
     }
 
+    public ArtifactTypeSettings.DependencyCategory getCategory() {
+        return ArtifactTypeSettings.DependencyCategory.Javadoc;
+    }
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve.dependency;
+
+import com.intellij.openapi.roots.JavadocOrderRootType;
+import com.intellij.openapi.roots.OrderRootType;
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.clarent.ivyidea.config.model.ArtifactTypeSettings;
+import org.clarent.ivyidea.intellij.LazyAttachService;
+import org.clarent.ivyidea.intellij.model.IntellijModuleWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A source or javadoc artifact that is only downloaded once its sources are needed in the IDE.
+ * <p>
+ * The local file is the location the artifact will have in the ivy cache. When it is already
+ * there, the artifact is attached right away; otherwise it is registered with the
+ * {@link LazyAttachService} for the files of the classes artifacts of the same dependency.
+ */
+public class LazyAttachDependency extends ExternalDependency {
+
+    private final ArtifactTypeSettings.DependencyCategory category;
+    private final List<File> classesFiles;
+
+    public LazyAttachDependency(Artifact artifact, ArtifactTypeSettings.DependencyCategory category,
+                                @Nullable File cachedFile, String configurationName, @NotNull List<File> classesFiles) {
+        super(artifact, cachedFile, configurationName);
+        this.category = category;
+        this.classesFiles = Collections.unmodifiableList(classesFiles);
+    }
+
+    /**
+     * Returns the classes artifacts of the dependency this artifact belongs to.
+     */
+    public List<File> getClassesFiles() {
+        return classesFiles;
+    }
+
+    public boolean isDownloaded() {
+        return getLocalFile() != null && getLocalFile().isFile();
+    }
+
+    @Override
+    public void addTo(IntellijModuleWrapper intellijModuleWrapper) {
+        if (isDownloaded()) {
+            super.addTo(intellijModuleWrapper);
+        } else {
+            final LazyAttachService lazyAttachService = LazyAttachService.getInstance(intellijModuleWrapper.getModule().getProject());
+            lazyAttachService.register(intellijModuleWrapper.getModule(), this);
+        }
+    }
+
+    public OrderRootType getType() {
+        return category == ArtifactTypeSettings.DependencyCategory.Javadoc ? JavadocOrderRootType.getInstance() : OrderRootType.SOURCES;
+    }
+
+    @Override
+    public ArtifactTypeSettings.DependencyCategory getCategory() {
+        return category;
+    }
+
+    protected String getTypeName() {
+        return "lazily attached " + category.name().toLowerCase();
+    }
+}
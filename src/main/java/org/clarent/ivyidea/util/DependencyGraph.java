@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.util;
+
+import java.util.*;
+
+/**
+ * Directed graph of nodes that depend on other nodes.
+ * <p>
+ * Cycles are allowed: the nodes of a cycle are reported by {@link #getCycles()}, and the edges
+ * between them are ignored by {@link #getPrerequisites(Object)}, {@link #getDependents(Object)}
+ * and {@link #getTopologicalOrder()}, so the remaining graph can always be ordered.
+ * All results follow the order in which the nodes were given.
+ */
+public class DependencyGraph<T> {
+
+    private final Map<T, Set<T>> prerequisites = new LinkedHashMap<>();
+    private final Map<T, Set<T>> dependents = new HashMap<>();
+    private Map<T, Integer> cycleIndexes;
+    private List<List<T>> cycles;
+
+    public DependencyGraph(Collection<T> nodes) {
+        for (T node : nodes) {
+            prerequisites.put(node, new LinkedHashSet<>());
+            dependents.put(node, new LinkedHashSet<>());
+        }
+    }
+
+    public Set<T> getNodes() {
+        return Collections.unmodifiableSet(prerequisites.keySet());
+    }
+
+    /**
+     * Registers that the given node depends on the given prerequisite. Dependencies on nodes that
+     * are not part of this graph and dependencies of a node on itself are ignored.
+     */
+    public void addDependency(T node, T prerequisite) {
+        if (node.equals(prerequisite) || !prerequisites.containsKey(node) || !prerequisites.containsKey(prerequisite)) {
+            return;
+        }
+        prerequisites.get(node).add(prerequisite);
+        dependents.get(prerequisite).add(node);
+        cycles = null;
+        cycleIndexes = null;
+    }
+
+    /**
+     * @return the groups of nodes that (indirectly) depend on each other
+     */
+    public List<List<T>> getCycles() {
+        findCycles();
+        return cycles;
+    }
+
+    /**
+     * @return the nodes that the given node depends on, not counting the nodes of the same cycle
+     */
+    public Set<T> getPrerequisites(T node) {
+        return withoutSameCycle(node, prerequisites.get(node));
+    }
+
+    /**
+     * @return the nodes that depend on the given node, not counting the nodes of the same cycle
+     */
+    public Set<T> getDependents(T node) {
+        return withoutSameCycle(node, dependents.get(node));
+    }
+
+    /**
+     * @return the given nodes and all nodes that directly or indirectly depend on them
+     */
+    public Set<T> getTransitiveDependents(Collection<T> nodes) {
+        final Set<T> result = new LinkedHashSet<>();
+        final Deque<T> toVisit = new ArrayDeque<>(nodes);
+        while (!toVisit.isEmpty()) {
+            final T node = toVisit.pop();
+            if (prerequisites.containsKey(node) && result.add(node)) {
+                toVisit.addAll(dependents.get(node));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return all nodes, each one after all of its prerequisites
+     */
+    public List<T> getTopologicalOrder() {
+        final Map<T, Integer> remainingPrerequisites = new HashMap<>();
+        final Deque<T> ready = new ArrayDeque<>();
+        for (T node : prerequisites.keySet()) {
+            final int count = getPrerequisites(node).size();
+            remainingPrerequisites.put(node, count);
+            if (count == 0) {
+                ready.add(node);
+            }
+        }
+        final List<T> result = new ArrayList<>(prerequisites.size());
+        while (!ready.isEmpty()) {
+            final T node = ready.poll();
+            result.add(node);
+            for (T dependent : getDependents(node)) {
+                if (remainingPrerequisites.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Set<T> withoutSameCycle(T node, Set<T> nodes) {
+        if (nodes == null) {
+            return Collections.emptySet();
+        }
+        findCycles();
+        final Integer cycleIndex = cycleIndexes.get(node);
+        if (cycleIndex == null) {
+            return Collections.unmodifiableSet(nodes);
+        }
+        final Set<T> result = new LinkedHashSet<>();
+        for (T other : nodes) {
+            if (!cycleIndex.equals(cycleIndexes.get(other))) {
+                result.add(other);
+            }
+        }
+        return result;
+    }
+
+    private void findCycles() {
+        if (cycles == null) {
+            final TarjanSearch search = new TarjanSearch();
+            for (T node : prerequisites.keySet()) {
+                if (!search.indexes.containsKey(node)) {
+                    search.visit(node);
+                }
+            }
+            cycles = Collections.unmodifiableList(search.components);
+            cycleIndexes = new HashMap<>();
+            for (int i = 0; i < cycles.size(); i++) {
+                for (T node : cycles.get(i)) {
+                    cycleIndexes.put(node, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the strongly connected components with more than one node.
+     */
+    private class TarjanSearch {
+        private final Map<T, Integer> indexes = new HashMap<>();
+        private final Map<T, Integer> lowLinks = new HashMap<>();
+        private final Deque<T> stack = new ArrayDeque<>();
+        private final Set<T> onStack = new HashSet<>();
+        private final List<List<T>> components = new ArrayList<>();
+
+        private void visit(T node) {
+            indexes.put(node, indexes.size());
+            lowLinks.put(node, indexes.get(node));
+            stack.push(node);
+            onStack.add(node);
+
+            for (T prerequisite : prerequisites.get(node)) {
+                if (!indexes.containsKey(prerequisite)) {
+                    visit(prerequisite);
+                    lowLinks.put(node, Math.min(lowLinks.get(node), lowLinks.get(prerequisite)));
+                } else if (onStack.contains(prerequisite)) {
+                    lowLinks.put(node, Math.min(lowLinks.get(node), indexes.get(prerequisite)));
+                }
+            }
+
+            if (lowLinks.get(node).equals(indexes.get(node))) {
+                final List<T> component = new ArrayList<>();
+                T member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(node));
+                if (component.size() > 1) {
+                    Collections.reverse(component);
+                    components.add(Collections.unmodifiableList(component));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Builds a SHA-256 hash of a number of values, to detect whether any of them changed.
+ * Every value is added with its length, so different sequences of values never give the same
+ * input to the hash function.
+ */
+public class Fingerprint {
+
+    private final MessageDigest digest;
+    private String value;
+
+    public Fingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    public Fingerprint add(@Nullable String value) {
+        if (value == null) {
+            return addBytes(null);
+        }
+        return addBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Fingerprint add(boolean value) {
+        return add(String.valueOf(value));
+    }
+
+    public Fingerprint add(@Nullable String[] values) {
+        if (values == null) {
+            return addBytes(null);
+        }
+        add(String.valueOf(values.length));
+        for (String value : values) {
+            add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the properties, sorted by their name.
+     */
+    public Fingerprint add(Properties properties) {
+        final Map<String, String> sorted = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            sorted.put(name, properties.getProperty(name));
+        }
+        add(String.valueOf(sorted.size()));
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            add(entry.getKey());
+            add(entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Adds the contents of the given file; a missing file gives a different hash than any existing file.
+     */
+    public Fingerprint addContents(@Nullable File file) throws IOException {
+        if (file == null || !file.isFile()) {
+            return addBytes(null);
+        }
+        return addBytes(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Adds the given contents; null gives a different hash than any contents.
+     */
+    public Fingerprint addContents(@Nullable byte[] contents) {
+        return addBytes(contents);
+    }
+
+    /**
+     * Returns the hash of all values added so far, as a hexadecimal string. No values can be
+     * added anymore once the hash has been computed.
+     */
+    @Override
+    public String toString() {
+        if (value == null) {
+            final StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest()) {
+                result.append(Character.forDigit((b >> 4) & 0xF, 16));
+                result.append(Character.forDigit(b & 0xF, 16));
+            }
+            value = result.toString();
+        }
+        return value;
+    }
+
+    private Fingerprint addBytes(@Nullable byte[] bytes) {
+        if (value != null) {
+            throw new IllegalStateException("The fingerprint has already been computed");
+        }
+        if (bytes == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            digest.update(intToBytes(bytes.length));
+            digest.update(bytes);
+        }
+        return this;
+    }
+
+    private static byte[] intToBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+}
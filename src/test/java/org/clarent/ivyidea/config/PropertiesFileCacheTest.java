@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.config;
+
+import org.clarent.ivyidea.fixture.LocalIvyRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropertiesFileCacheTest {
+
+    private final PropertiesFileCache cache = new PropertiesFileCache();
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("ivyidea-properties");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        LocalIvyRepository.delete(dir);
+    }
+
+    @Test
+    public void testUnchangedFileIsNotReadAgain() throws IOException {
+        final File file = write("module.properties", "a=1\n");
+
+        final PropertiesFileCache.Snapshot snapshot = cache.getSnapshot(file);
+        assertThat(snapshot.getValues()).containsEntry("a", "1");
+        assertThat(cache.getSnapshot(file)).isSameAs(snapshot);
+    }
+
+    @Test
+    public void testChangedFileIsReadAgain() throws IOException {
+        final File file = write("module.properties", "a=1\n");
+        final PropertiesFileCache.Snapshot snapshot = cache.getSnapshot(file);
+
+        write("module.properties", "a=22\n");
+        final PropertiesFileCache.Snapshot newSnapshot = cache.getSnapshot(file);
+        assertThat(newSnapshot).isNotSameAs(snapshot);
+        assertThat(newSnapshot.getValues()).containsEntry("a", "22");
+    }
+
+    @Test
+    public void testFilesListedFirstTakePrecedence() throws IOException {
+        final PropertiesFileCache.Snapshot module = cache.getSnapshot(write("module.properties", "a=module\n"));
+        final PropertiesFileCache.Snapshot project = cache.getSnapshot(write("project.properties", "a=project\nb=project\n"));
+
+        final Properties properties = cache.merge(Arrays.asList(module, project));
+        assertThat(properties.getProperty("a")).isEqualTo("module");
+        assertThat(properties.getProperty("b")).isEqualTo("project");
+        assertThat(cache.merge(Arrays.asList(project, module)).getProperty("a")).isEqualTo("project");
+    }
+
+    @Test
+    public void testMergedPropertiesCanBeChanged() throws IOException {
+        final PropertiesFileCache.Snapshot module = cache.getSnapshot(write("module.properties", "a=module\n"));
+
+        cache.merge(Arrays.asList(module)).setProperty("a", "changed");
+        assertThat(cache.merge(Arrays.asList(module)).getProperty("a")).isEqualTo("module");
+    }
+
+    @Test
+    public void testMergedPropertiesFollowChangedFiles() throws IOException {
+        final File file = write("module.properties", "a=1\n");
+        assertThat(cache.merge(Arrays.asList(cache.getSnapshot(file))).getProperty("a")).isEqualTo("1");
+
+        write("module.properties", "a=22\n");
+        assertThat(cache.merge(Arrays.asList(cache.getSnapshot(file))).getProperty("a")).isEqualTo("22");
+    }
+
+    private File write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.ISO_8859_1)).toFile();
+    }
+}
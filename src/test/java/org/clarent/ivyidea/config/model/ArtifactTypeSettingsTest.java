@@ -20,6 +20,8 @@ import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.clarent.ivyidea.config.model.ArtifactTypeSettings.DependencyCategory.Classes;
+import static org.clarent.ivyidea.config.model.ArtifactTypeSettings.DependencyCategory.Javadoc;
+import static org.clarent.ivyidea.config.model.ArtifactTypeSettings.DependencyCategory.Sources;
 
 /**
  * @author Guy Mahieu
@@ -78,6 +80,47 @@ public class ArtifactTypeSettingsTest {
         assertThat(typeSettings.getCategoryForType("foo")).isNull();
     }
 
+    @Test
+    public void testDefaultTypesUsedIfObjectEmpty() {
+        final ArtifactTypeSettings typeSettings = new ArtifactTypeSettings();
+        assertThat(typeSettings.getCategoryForType("jar")).isSameAs(Classes);
+        assertThat(typeSettings.getCategoryForType("Source")).isSameAs(Sources);
+        assertThat(typeSettings.getCategoryForType("javadoc")).isSameAs(Javadoc);
+        assertThat(typeSettings.getClassesTypes()).isEmpty();
+    }
+
+    @Test
+    public void testCategoryFollowsChangedTypes() {
+        final ArtifactTypeSettings typeSettings = new ArtifactTypeSettings();
+        typeSettings.setTypesForCategory(Classes, "jar");
+        assertThat(typeSettings.getCategoryForType("jar")).isSameAs(Classes);
+        assertThat(typeSettings.getCategoryForType("bundle")).isNull();
+
+        typeSettings.setClassesTypes("bundle");
+        assertThat(typeSettings.getCategoryForType("jar")).isNull();
+        assertThat(typeSettings.getCategoryForType("bundle")).isSameAs(Classes);
+    }
+
+    @Test
+    public void testTypeOfSeveralCategoriesBelongsToFirst() {
+        final ArtifactTypeSettings typeSettings = new ArtifactTypeSettings();
+        typeSettings.setTypesForCategory(Classes, "jar, zip");
+        typeSettings.setTypesForCategory(Sources, "zip");
+        assertThat(typeSettings.getCategoryForType("zip")).isSameAs(Sources);
+    }
+
+    @Test
+    public void testCopyIsNotAffectedByChanges() {
+        final ArtifactTypeSettings typeSettings = new ArtifactTypeSettings();
+        typeSettings.setTypesForCategory(Classes, "jar");
+        final ArtifactTypeSettings copy = typeSettings.copy();
+
+        typeSettings.setClassesTypes("bundle");
+        assertThat(copy.getCategoryForType("jar")).isSameAs(Classes);
+        assertThat(copy.getCategoryForType("bundle")).isNull();
+        assertThat(copy.getClassesTypes()).isEqualTo("jar");
+    }
+
     @Test
     public void testSerializationGettersDoNotReturnDefaultValuesIfObjectEmpty() {
         final ArtifactTypeSettings typeSettings = new ArtifactTypeSettings();
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.fixture;
+
+import org.apache.ivy.Ivy;
+import org.apache.ivy.core.report.ResolveReport;
+import org.apache.ivy.core.resolve.ResolveOptions;
+import org.apache.ivy.util.DefaultMessageLogger;
+import org.apache.ivy.util.Message;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A generated Ivy repository on the local file system, with an {@code ivysettings.xml} that
+ * resolves from it and the ivy files of modules that depend on its libraries. Used to benchmark
+ * resolves without network access.
+ * <p>
+ * Every library publishes its jars in its {@code default} configuration and a sources jar in its
+ * {@code sources} configuration. Resolving takes a while for large repositories, as Ivy checks
+ * every library separately, so benchmarks should do so once per trial.
+ */
+public class LocalIvyRepository {
+
+    public static final String ORGANISATION = "org.example";
+    public static final String REVISION = "1.0";
+    private static final String IVY_PATTERN = "[organisation]/[module]/[revision]/ivy.xml";
+    private static final String ARTIFACT_PATTERN = "[organisation]/[module]/[revision]/[artifact]-[revision]-[type].[ext]";
+
+    private final Path repositoryDir;
+    private final Path settingsFile;
+    private final List<Path> moduleIvyFiles;
+    private final int libraryCount;
+
+    private LocalIvyRepository(Path dir, List<Path> moduleIvyFiles, int libraryCount) {
+        this.repositoryDir = dir.resolve("repository");
+        this.settingsFile = dir.resolve("ivysettings.xml");
+        this.moduleIvyFiles = Collections.unmodifiableList(moduleIvyFiles);
+        this.libraryCount = libraryCount;
+    }
+
+    /**
+     * Generates a repository with a single module that depends on all libraries directly, spread
+     * over its {@code compile}, {@code runtime} and {@code test} configurations.
+     *
+     * @param libraryCount the number of libraries the module depends on
+     * @param jarsPerLibrary the number of jars each library publishes in its default configuration
+     * @param artifactSize the size of every published artifact, in bytes
+     */
+    public static LocalIvyRepository generate(Path dir, int libraryCount, int jarsPerLibrary, int artifactSize) throws IOException {
+        final byte[] content = createContent(artifactSize);
+        final StringBuilder dependencies = new StringBuilder();
+        for (int i = 0; i < libraryCount; i++) {
+            final String library = "lib" + i;
+            writeLibrary(dir, library, jarsPerLibrary, content, Collections.emptyList());
+
+            final String configuration = i % 3 == 0 ? "compile" : i % 3 == 1 ? "runtime" : "test";
+            dependencies.append(dependency(library, configuration + "->default"));
+        }
+
+        final Path moduleIvyFile = dir.resolve("ivy.xml");
+        writeModule(moduleIvyFile, "app", dependencies);
+        writeSettings(dir);
+        return new LocalIvyRepository(dir, Collections.singletonList(moduleIvyFile), libraryCount);
+    }
+
+    /**
+     * Generates a repository whose libraries form a tree: every library depends on {@code fanOut}
+     * libraries of the next level, down to the given depth. Each of the modules depends on the
+     * {@code fanOut} libraries of the first level in its {@code compile} configuration, so it has
+     * fanOut + fanOut^2 + ... + fanOut^depth transitive dependencies, which are the same for all
+     * modules.
+     *
+     * @param moduleCount the number of modules to generate an ivy file for, in modules/&lt;name&gt;/ivy.xml
+     * @param depth the number of levels of libraries
+     * @param fanOut the number of dependencies of each module and library
+     * @param artifactSize the size of every published artifact, in bytes
+     */
+    public static LocalIvyRepository generateTree(Path dir, int moduleCount, int depth, int fanOut, int artifactSize) throws IOException {
+        final byte[] content = createContent(artifactSize);
+        int libraryCount = 0;
+        int levelSize = fanOut;
+        for (int level = 0; level < depth; level++) {
+            for (int i = 0; i < levelSize; i++) {
+                final List<String> dependencies = new ArrayList<>();
+                if (level < depth - 1) {
+                    for (int k = 0; k < fanOut; k++) {
+                        dependencies.add(getTreeLibraryName(level + 1, i * fanOut + k));
+                    }
+                }
+                writeLibrary(dir, getTreeLibraryName(level, i), 1, content, dependencies);
+                libraryCount++;
+            }
+            levelSize *= fanOut;
+        }
+
+        final StringBuilder dependencies = new StringBuilder();
+        for (int i = 0; i < fanOut; i++) {
+            dependencies.append(dependency(getTreeLibraryName(0, i), "compile->default"));
+        }
+        final List<Path> moduleIvyFiles = new ArrayList<>();
+        for (int i = 0; i < moduleCount; i++) {
+            final Path moduleIvyFile = dir.resolve("modules").resolve("module" + i).resolve("ivy.xml");
+            writeModule(moduleIvyFile, "module" + i, dependencies);
+            moduleIvyFiles.add(moduleIvyFile);
+        }
+        writeSettings(dir);
+        return new LocalIvyRepository(dir, moduleIvyFiles, libraryCount);
+    }
+
+    private static String getTreeLibraryName(int level, int index) {
+        return "lib-" + level + "-" + index;
+    }
+
+    private static byte[] createContent(int size) {
+        final byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private static String dependency(String library, String configurationMapping) {
+        return "        <dependency org=\"" + ORGANISATION + "\" name=\"" + library + "\" rev=\"" + REVISION + "\" conf=\"" + configurationMapping + "\"/>\n";
+    }
+
+    private static String getJarName(String library, int index) {
+        return index == 0 ? library : library + "-part" + index;
+    }
+
+    private static void writeLibrary(Path dir, String library, int jarCount, byte[] content, List<String> dependencies) throws IOException {
+        final Path libraryDir = dir.resolve("repository").resolve(ORGANISATION).resolve(library).resolve(REVISION);
+        Files.createDirectories(libraryDir);
+
+        final StringBuilder jars = new StringBuilder();
+        for (int j = 0; j < jarCount; j++) {
+            jars.append("        <artifact name=\"").append(getJarName(library, j)).append("\" type=\"jar\" ext=\"jar\" conf=\"default\"/>\n");
+            Files.write(libraryDir.resolve(getJarName(library, j) + "-" + REVISION + "-jar.jar"), content);
+        }
+        Files.write(libraryDir.resolve(library + "-" + REVISION + "-source.jar"), content);
+
+        final StringBuilder libraryDependencies = new StringBuilder();
+        for (String dependency : dependencies) {
+            libraryDependencies.append(dependency(dependency, "default->default"));
+        }
+        write(libraryDir.resolve("ivy.xml"), "<ivy-module version=\"2.0\">\n"
+                + "    <info organisation=\"" + ORGANISATION + "\" module=\"" + library + "\" revision=\"" + REVISION + "\" publication=\"20260101000000\"/>\n"
+                + "    <configurations>\n"
+                + "        <conf name=\"default\"/>\n"
+                + "        <conf name=\"sources\"/>\n"
+                + "    </configurations>\n"
+                + "    <publications>\n"
+                + jars
+                + "        <artifact name=\"" + library + "\" type=\"source\" ext=\"jar\" conf=\"sources\"/>\n"
+                + "    </publications>\n"
+                + "    <dependencies>\n"
+                + libraryDependencies
+                + "    </dependencies>\n"
+                + "</ivy-module>\n");
+    }
+
+    private static void writeModule(Path ivyFile, String module, CharSequence dependencies) throws IOException {
+        Files.createDirectories(ivyFile.getParent());
+        write(ivyFile, "<ivy-module version=\"2.0\">\n"
+                + "    <info organisation=\"" + ORGANISATION + "\" module=\"" + module + "\" revision=\"" + REVISION + "\"/>\n"
+                + "    <configurations>\n"
+                + "        <conf name=\"compile\"/>\n"
+                + "        <conf name=\"runtime\" extends=\"compile\"/>\n"
+                + "        <conf name=\"test\" extends=\"runtime\"/>\n"
+                + "    </configurations>\n"
+                + "    <dependencies>\n"
+                + dependencies
+                + "    </dependencies>\n"
+                + "</ivy-module>\n");
+    }
+
+    private static void writeSettings(Path dir) throws IOException {
+        write(dir.resolve("ivysettings.xml"), "<ivysettings>\n"
+                + "    <settings defaultResolver=\"local\"/>\n"
+                + "    <caches defaultCacheDir=\"${ivy.settings.dir}/cache\"/>\n"
+                + "    <resolvers>\n"
+                + "        <filesystem name=\"local\">\n"
+                + "            <ivy pattern=\"${ivy.settings.dir}/repository/" + IVY_PATTERN + "\"/>\n"
+                + "            <artifact pattern=\"${ivy.settings.dir}/repository/" + ARTIFACT_PATTERN + "\"/>\n"
+                + "        </filesystem>\n"
+                + "    </resolvers>\n"
+                + "</ivysettings>\n");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Path getRepositoryDir() {
+        return repositoryDir;
+    }
+
+    /**
+     * @return the ivy settings that resolve from this repository, with the cache next to it
+     */
+    public Path getSettingsFile() {
+        return settingsFile;
+    }
+
+    public List<Path> getModuleIvyFiles() {
+        return moduleIvyFiles;
+    }
+
+    /**
+     * @return the number of libraries in the repository
+     */
+    public int getLibraryCount() {
+        return libraryCount;
+    }
+
+    /**
+     * Creates an Ivy engine configured with the settings of this repository.
+     */
+    public Ivy createIvy() throws IOException, ParseException {
+        Message.setDefaultLogger(new DefaultMessageLogger(Message.MSG_ERR));
+        final Ivy ivy = Ivy.newInstance();
+        ivy.configure(settingsFile.toFile());
+        return ivy;
+    }
+
+    /**
+     * Resolves all configurations of the given module with the given engine.
+     */
+    public ResolveReport resolve(Ivy ivy, Path moduleIvyFile) throws IOException, ParseException {
+        final ResolveOptions options = new ResolveOptions()
+                .setConfs(new String[]{"*"})
+                .setValidate(false);
+        options.setLog(ResolveOptions.LOG_QUIET);
+        final ResolveReport report = ivy.resolve(moduleIvyFile.toUri().toURL(), options);
+        if (report.hasError()) {
+            throw new IllegalStateException("Resolving the generated repository failed: " + report.getAllProblemMessages());
+        }
+        return report;
+    }
+
+    /**
+     * Deletes the given directory with everything in it.
+     */
+    public static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.ivy;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.ivy.core.settings.IvySettings;
+import org.clarent.ivyidea.fixture.LocalIvyRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RemoteSettingsCacheTest {
+
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final long ALWAYS = 0;
+
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private String serverUrl;
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("ivyidea-remote-settings");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            final String content = files.get(path);
+            final String etag = content == null ? null : "\"" + content.hashCode() + "\"";
+            requests.add(path + (exchange.getRequestHeaders().containsKey("If-None-Match") ? " (conditional)" : ""));
+            if (content == null) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND, -1);
+            } else if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+            } else {
+                final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("ETag", etag);
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        serverUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.stop(0);
+        LocalIvyRepository.delete(cacheDir);
+    }
+
+    @Test
+    public void testCopyIsUsedUntilItIsTooOld() throws IOException {
+        files.put("/ivysettings.xml", "first");
+
+        final RemoteSettingsCache cache = createCache(NEVER);
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("first");
+        files.put("/ivysettings.xml", "second");
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("first");
+        assertThat(requests).containsExactly("/ivysettings.xml");
+    }
+
+    @Test
+    public void testTooOldCopyIsRevalidated() throws IOException {
+        files.put("/ivysettings.xml", "first");
+
+        final RemoteSettingsCache cache = createCache(ALWAYS);
+        final String hash = cache.getContentHash(getUrl("/ivysettings.xml"));
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("first");
+        assertThat(cache.getContentHash(getUrl("/ivysettings.xml"))).isEqualTo(hash);
+
+        files.put("/ivysettings.xml", "second");
+        // the copy is used while it is checked in the background
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("first");
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("second");
+        assertThat(cache.getContentHash(getUrl("/ivysettings.xml"))).isNotEqualTo(hash);
+        assertThat(requests).containsExactly("/ivysettings.xml", "/ivysettings.xml (conditional)", "/ivysettings.xml (conditional)",
+                "/ivysettings.xml (conditional)", "/ivysettings.xml (conditional)", "/ivysettings.xml (conditional)");
+    }
+
+    @Test
+    public void testCopyIsUsedWhenServerIsUnreachable() throws IOException {
+        files.put("/ivysettings.xml", "first");
+        assertThat(read(createCache(ALWAYS), "/ivysettings.xml")).isEqualTo("first");
+        server.stop(0);
+
+        // a new cache finds the copy stored by the previous one
+        final RemoteSettingsCache cache = createCache(ALWAYS);
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("first");
+        assertThat(read(cache, "/ivysettings.xml")).isEqualTo("first");
+    }
+
+    @Test
+    public void testMissingSettingsAreReported() {
+        final RemoteSettingsCache cache = createCache(NEVER);
+        assertThatThrownBy(() -> read(cache, "/missing.xml")).isInstanceOf(IOException.class).hasMessageContaining("404");
+        assertThat(cache.getContentHash(getUrl("/missing.xml"))).isNull();
+    }
+
+    @Test
+    public void testLocalSettingsAreNotCached() {
+        assertThat(createCache(NEVER).getContentHash(cacheDir.resolve("ivysettings.xml").toString())).isNull();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    public void testIncludedSettingsAreLoadedFromCopy() throws Exception {
+        files.put("/ivysettings.xml", "<ivysettings>\n"
+                + "    <property name=\"main.property\" value=\"main\"/>\n"
+                + "    <include file=\"included.xml\"/>\n"
+                + "</ivysettings>\n");
+        files.put("/included.xml", "<ivysettings>\n"
+                + "    <property name=\"included.property\" value=\"included\"/>\n"
+                + "</ivysettings>\n");
+
+        final RemoteSettingsCache cache = createCache(NEVER);
+        final String hash = cache.getContentHash(getUrl("/ivysettings.xml"));
+        cache.load(new IvySettings(), new URL(getUrl("/ivysettings.xml")));
+        assertThat(cache.getContentHash(getUrl("/ivysettings.xml"))).isNotEqualTo(hash);
+        server.stop(0);
+
+        final IvySettings ivySettings = new IvySettings();
+        cache.load(ivySettings, new URL(getUrl("/ivysettings.xml")));
+        assertThat(ivySettings.getVariable("main.property")).isEqualTo("main");
+        assertThat(ivySettings.getVariable("included.property")).isEqualTo("included");
+        assertThat(requests).containsExactly("/ivysettings.xml", "/included.xml");
+    }
+
+    private RemoteSettingsCache createCache(long maxAgeMillis) {
+        return new RemoteSettingsCache(cacheDir.toFile(), () -> maxAgeMillis,
+                url -> (HttpURLConnection) url.openConnection(), Runnable::run);
+    }
+
+    private String getUrl(String path) {
+        return serverUrl + path;
+    }
+
+    private String read(RemoteSettingsCache cache, String path) throws IOException {
+        try (InputStream in = cache.openStream(new URL(getUrl(path)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import com.intellij.facet.FacetManager;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.testFramework.HeavyPlatformTestCase;
+import org.clarent.ivyidea.config.IvyIdeaConfigHelper;
+import org.clarent.ivyidea.fixture.LocalIvyRepository;
+import org.clarent.ivyidea.intellij.facet.IvyIdeaFacet;
+import org.clarent.ivyidea.intellij.facet.IvyIdeaFacetType;
+import org.clarent.ivyidea.intellij.facet.config.IvyIdeaFacetConfiguration;
+import org.clarent.ivyidea.intellij.task.ProgressMonitorThread;
+import org.clarent.ivyidea.ivy.IvyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves a number of modules against a repository generated by {@link LocalIvyRepository},
+ * with the {@link IvyManager} and resolvers of the plugin in a headless IDE, and reports the
+ * statistics of a cold run (empty Ivy cache, nothing to reuse) followed by a warm run.
+ * <p>
+ * Only runs when asked for, as it takes a while:
+ * <pre>
+ * ./gradlew test --tests org.clarent.ivyidea.resolve.ResolveBenchmark -Pivyidea.benchmark=true
+ * </pre>
+ * The shape of the repository is set with the {@code ivyidea.benchmark.modules}, {@code .depth},
+ * {@code .fanOut} and {@code .artifactSize} properties, the number of modules resolved at the same
+ * time with {@code ivyidea.benchmark.parallelism}. When {@code ivyidea.benchmark.output} names a
+ * directory, the statistics of both runs are written to it as JSON.
+ */
+public class ResolveBenchmark extends HeavyPlatformTestCase {
+
+    private static final String PROPERTY_PREFIX = "ivyidea.benchmark";
+
+    private Path dir;
+    private LocalIvyRepository repository;
+    private final List<Module> modules = new ArrayList<>();
+
+    @Override
+    protected boolean shouldRunTest() {
+        return Boolean.getBoolean(PROPERTY_PREFIX) && super.shouldRunTest();
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("ivyidea-benchmark");
+        repository = LocalIvyRepository.generateTree(dir, getSetting("modules", 10), getSetting("depth", 3),
+                getSetting("fanOut", 4), getSetting("artifactSize", 1024));
+        for (Path ivyFile : repository.getModuleIvyFiles()) {
+            modules.add(createIvyIdeaModule(ivyFile));
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            LocalIvyRepository.delete(dir);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testResolve() throws Exception {
+        final int parallelism = getSetting("parallelism", 4);
+        report("cold", resolveAll(parallelism));
+        report("warm", resolveAll(parallelism));
+    }
+
+    private ResolveStatistics resolveAll(int parallelism) throws Exception {
+        final IvyManager ivyManager = new IvyManager(IvyIdeaConfigHelper.createResolveSettings(getProject()));
+        final ProgressIndicator indicator = new EmptyProgressIndicator();
+        final List<IntellijDependencyResolver> resolvers = new MultiModuleResolver(ivyManager, parallelism)
+                .resolve(modules, indicator, new ProgressMonitorThread(indicator, Thread.currentThread()));
+        ivyManager.getStatistics().finish();
+
+        assertEquals(modules.size(), resolvers.size());
+        for (IntellijDependencyResolver resolver : resolvers) {
+            assertEmpty(resolver.getProblems());
+            assertFalse(resolver.getDependencies().isEmpty());
+        }
+        return ivyManager.getStatistics();
+    }
+
+    private void report(String run, ResolveStatistics statistics) throws Exception {
+        final long dependencies = (long) modules.size() * repository.getLibraryCount();
+        System.out.println(run + " run: " + modules.size() + " modules x " + repository.getLibraryCount() + " transitive dependencies in "
+                + statistics.getTotalMillis() + " ms (" + dependencies * 1000 / Math.max(1, statistics.getTotalMillis()) + " dependencies/s)");
+        System.out.println(statistics.formatSummary());
+
+        final String output = System.getProperty(PROPERTY_PREFIX + ".output");
+        if (output != null) {
+            final Path outputDir = Files.createDirectories(Paths.get(output));
+            Files.write(outputDir.resolve("resolve-" + run + ".json"), statistics.toJson().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private Module createIvyIdeaModule(Path ivyFile) {
+        final Module module = createModule(ivyFile.getParent().getFileName().toString());
+        WriteAction.runAndWait(() -> {
+            final IvyIdeaFacet facet = FacetManager.getInstance(module).addFacet(IvyIdeaFacetType.getInstance(), IvyIdeaFacetType.STRING_ID, null);
+            final IvyIdeaFacetConfiguration configuration = facet.getConfiguration();
+            configuration.setIvyFile(ivyFile.toString());
+            configuration.setUseProjectSettings(false);
+            configuration.setUseCustomIvySettings(true);
+            configuration.setIvySettingsFile(repository.getSettingsFile().toString());
+        });
+        return module;
+    }
+
+    private static int getSetting(String name, int defaultValue) {
+        return Integer.getInteger(PROPERTY_PREFIX + "." + name, defaultValue);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import org.apache.ivy.core.module.descriptor.DefaultArtifact;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.apache.ivy.core.report.ArtifactDownloadReport;
+import org.apache.ivy.core.report.DownloadStatus;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResolveStatisticsTest {
+
+    @Test
+    public void testSummaryHasLinePerModule() {
+        final ResolveStatistics statistics = new ResolveStatistics(0);
+        statistics.addTime("core", ResolveStatistics.Phase.RESOLVE, 5_000_000);
+        statistics.addTime("core", ResolveStatistics.Phase.RESOLVE, 7_000_000);
+        statistics.addArtifacts("core", report("a", DownloadStatus.SUCCESSFUL, 2048), report("b", DownloadStatus.NO, 100));
+        statistics.setReusedPreviousResult("web");
+        statistics.finish(42_000_000);
+
+        final String[] lines = statistics.formatSummary().split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("Resolve statistics (total 42 ms):");
+        assertThat(lines[1]).startsWith("Module").contains("Resolve (ms)", "Cache hits");
+        assertThat(lines[2]).startsWith("core").contains(" 12 ").endsWith("50%");
+        assertThat(lines[3]).startsWith("web (reused)").endsWith("-");
+    }
+
+    @Test
+    public void testJson() {
+        final ResolveStatistics statistics = new ResolveStatistics(0);
+        statistics.addTime("my \"module\"", ResolveStatistics.Phase.MODEL_UPDATE, 3_000_000);
+        statistics.addArtifacts("my \"module\"", report("a", DownloadStatus.SUCCESSFUL, 2048), report("b", DownloadStatus.NO, 100),
+                report("c", DownloadStatus.FAILED, 0));
+        statistics.finish(10_000_000);
+
+        final String json = statistics.toJson();
+        assertThat(json).contains("\"totalMillis\": 10");
+        assertThat(json).contains("\"name\": \"my \\\"module\\\"\"");
+        assertThat(json).contains("\"model_update\": 3");
+        assertThat(json).contains("\"artifacts\": 3", "\"downloadedArtifacts\": 1", "\"downloadedBytes\": 2048",
+                "\"cachedArtifacts\": 1", "\"cacheHitRate\": 0.500");
+    }
+
+    @Test
+    public void testJsonWithoutModules() {
+        final ResolveStatistics statistics = new ResolveStatistics(0);
+        statistics.finish(0);
+
+        assertThat(statistics.toJson()).isEqualTo("{\n  \"totalMillis\": 0,\n  \"modules\": []\n}\n");
+    }
+
+    private static ArtifactDownloadReport report(String name, DownloadStatus status, long size) {
+        final ModuleRevisionId mrid = ModuleRevisionId.newInstance("org", name, "1.0");
+        final ArtifactDownloadReport report = new ArtifactDownloadReport(new DefaultArtifact(mrid, new Date(0), name, "jar", "jar"));
+        report.setDownloadStatus(status);
+        report.setSize(size);
+        return report;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.resolve;
+
+import org.apache.ivy.core.module.descriptor.Artifact;
+import org.apache.ivy.core.module.descriptor.DefaultArtifact;
+import org.apache.ivy.core.module.id.ModuleRevisionId;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResolvedArtifactIndexTest {
+
+    private static final ModuleRevisionId MRID = ModuleRevisionId.newInstance("org", "lib", "1.0");
+    private static final Date PUBLICATION_DATE = new Date(0);
+
+    @Test
+    public void testFindsEqualArtifacts() {
+        final ResolvedArtifactIndex index = new ResolvedArtifactIndex(Collections.singletonList(artifact("lib", "jar")));
+
+        assertThat(index.contains(artifact("lib", "jar"))).isTrue();
+        assertThat(index.contains(artifact("lib", "source"))).isFalse();
+    }
+
+    @Test
+    public void testKeepsDuplicateArtifactsOnce() {
+        final ResolvedArtifactIndex index = new ResolvedArtifactIndex(Arrays.asList(artifact("lib", "jar"), artifact("lib", "jar")));
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static Artifact artifact(String name, String type) {
+        return new DefaultArtifact(MRID, PUBLICATION_DATE, name, type, "jar");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.util;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependencyGraphTest {
+
+    @Test
+    public void testPrerequisitesComeFirstInTopologicalOrder() {
+        final DependencyGraph<String> graph = new DependencyGraph<>(asList("app", "service", "model", "util"));
+        graph.addDependency("app", "service");
+        graph.addDependency("service", "model");
+        graph.addDependency("model", "util");
+        graph.addDependency("app", "util");
+        assertThat(graph.getTopologicalOrder()).containsExactly("util", "model", "service", "app");
+        assertThat(graph.getCycles()).isEmpty();
+    }
+
+    @Test
+    public void testIndependentNodesKeepTheirOrder() {
+        final DependencyGraph<String> graph = new DependencyGraph<>(asList("c", "a", "b"));
+        assertThat(graph.getTopologicalOrder()).containsExactly("c", "a", "b");
+    }
+
+    @Test
+    public void testDependenciesOutsideTheGraphAreIgnored() {
+        final DependencyGraph<String> graph = new DependencyGraph<>(asList("a", "b"));
+        graph.addDependency("a", "external");
+        graph.addDependency("a", "a");
+        assertThat(graph.getPrerequisites("a")).isEmpty();
+        assertThat(graph.getCycles()).isEmpty();
+    }
+
+    @Test
+    public void testCyclesAreReportedAndDoNotBlockTheOrder() {
+        final DependencyGraph<String> graph = new DependencyGraph<>(asList("a", "b", "c", "d"));
+        graph.addDependency("a", "b");
+        graph.addDependency("b", "c");
+        graph.addDependency("c", "a");
+        graph.addDependency("a", "d");
+        assertThat(graph.getCycles()).hasSize(1);
+        assertThat(graph.getCycles().get(0)).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(graph.getPrerequisites("a")).containsExactly("d");
+        assertThat(graph.getDependents("d")).containsExactly("a");
+        final List<String> order = graph.getTopologicalOrder();
+        assertThat(order).containsExactlyInAnyOrder("a", "b", "c", "d");
+        assertThat(order.indexOf("d")).isLessThan(order.indexOf("a"));
+    }
+
+    @Test
+    public void testTransitiveDependents() {
+        final DependencyGraph<String> graph = new DependencyGraph<>(asList("app", "service", "model", "other"));
+        graph.addDependency("app", "service");
+        graph.addDependency("service", "model");
+        assertThat(graph.getTransitiveDependents(asList("model"))).containsExactlyInAnyOrder("model", "service", "app");
+        assertThat(graph.getTransitiveDependents(asList("other"))).containsExactly("other");
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 The IvyIDEA Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.clarent.ivyidea.util;
+
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FingerprintTest {
+
+    @Test
+    public void testSameValuesGiveSameFingerprint() {
+        assertThat(new Fingerprint().add("a").add(true).toString())
+                .isEqualTo(new Fingerprint().add("a").add(true).toString())
+                .hasSize(64);
+    }
+
+    @Test
+    public void testValueBoundariesAreTakenIntoAccount() {
+        assertThat(new Fingerprint().add("ab").add("c").toString())
+                .isNotEqualTo(new Fingerprint().add("a").add("bc").toString());
+        assertThat(new Fingerprint().add((String) null).toString())
+                .isNotEqualTo(new Fingerprint().add("").toString());
+    }
+
+    @Test
+    public void testPropertiesOrderDoesNotMatter() {
+        final Properties first = new Properties();
+        first.setProperty("x", "1");
+        first.setProperty("y", "2");
+        final Properties second = new Properties();
+        second.setProperty("y", "2");
+        second.setProperty("x", "1");
+        assertThat(new Fingerprint().add(first).toString()).isEqualTo(new Fingerprint().add(second).toString());
+    }
+}